@@ -1,3 +1,12 @@
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
 /**
  * Your implementation of an ArrayList.
  *
@@ -6,11 +15,16 @@
  * @GTID 903132413
  * @version 1.0
  */
-public class ArrayList<T> {
+public class ArrayList<T> implements Iterable<T> {
 
-    // Do not add new instance variables.
     private T[] backingArray;
     private int size;
+    private int front;
+    private final boolean circular;
+    private GrowthPolicy growthPolicy = GrowthPolicy.doubling();
+    private ResizeListener resizeListener;
+    private int resizeCount;
+    private int modCount;
 
     /**
      * The initial capacity of the array list.
@@ -22,10 +36,26 @@ public class ArrayList<T> {
      *
      * You may add statements to this method.
      */
-    @SuppressWarnings("unchecked")
     public ArrayList() {
+        this(false);
+    }
+
+    /**
+     * Constructs a new ArrayList.
+     *
+     * If {@code circular} is true, the list keeps a front offset into the
+     * backing array instead of pinning the first element at index 0, so
+     * adding to and removing from the front are amortized O(1) just like the
+     * back. The backing array is then no longer laid out in list order.
+     *
+     * @param circular whether to use the circular layout
+     */
+    @SuppressWarnings("unchecked")
+    public ArrayList(boolean circular) {
+        this.circular = circular;
         backingArray = (T[]) new Object[INITIAL_CAPACITY];
         size = 0;
+        front = 0;
     }
 
     /**
@@ -50,18 +80,14 @@ public class ArrayList<T> {
             throw new IndexOutOfBoundsException("index can't be negative");
         }
         if (size >= backingArray.length) {
-            @SuppressWarnings("unchecked")
-            T[] arr = (T[]) new Object[2 * backingArray.length];
-            for (int i = 0; i < backingArray.length; i++) {
-                arr[i] = backingArray[i];
-            }
-            backingArray = arr;
+            regrow(size + 1);
         }
         for (int i = size; i > index; i--) {
-            backingArray[i] = backingArray[i - 1];
+            backingArray[physical(i)] = backingArray[physical(i - 1)];
         }
-        backingArray[index] = data;
+        backingArray[physical(index)] = data;
         size++;
+        modCount++;
     }
 
     /**
@@ -69,7 +95,7 @@ public class ArrayList<T> {
      *
      * Remember that this add may require elements to be shifted.
      * 
-     * Must be O(n).
+     * Must be O(n), or amortized O(1) for a circular list.
      *
      * @param data The data to add to the list.
      * @throws java.lang.IllegalArgumentException if data is null
@@ -79,18 +105,18 @@ public class ArrayList<T> {
             throw new IllegalArgumentException("data can't be null!");
         }
         if (size >= backingArray.length) {
-            @SuppressWarnings("unchecked")
-            T[] arr = (T[]) new Object[2 * backingArray.length];
-            for (int i = 0; i < backingArray.length; i++) {
-                arr[i] = backingArray[i];
-            }
-            backingArray = arr;
+            regrow(size + 1);
         }
-        for (int i = size; i > 0; i--) {
-            backingArray[i] = backingArray[i - 1];
+        if (circular) {
+            front = front == 0 ? backingArray.length - 1 : front - 1;
+        } else {
+            for (int i = size; i > 0; i--) {
+                backingArray[i] = backingArray[i - 1];
+            }
         }
-        backingArray[0] = data;
+        backingArray[front] = data;
         size++;
+        modCount++;
     }
 
     /**
@@ -106,15 +132,89 @@ public class ArrayList<T> {
             throw new IllegalArgumentException("data can't be null!");
         }
         if (size >= backingArray.length) {
-            @SuppressWarnings("unchecked")
-            T[] arr = (T[]) new Object[2 * backingArray.length];
-            for (int i = 0; i < backingArray.length; i++) {
-                arr[i] = backingArray[i];
-            }
-            backingArray = arr;
+            regrow(size + 1);
         }
-        backingArray[size] = data;
+        backingArray[physical(size)] = data;
         size++;
+        modCount++;
+    }
+
+    /**
+     * Adds all of the data in the collection to the back of the list, in the
+     * order returned by its iterator.
+     *
+     * The backing array is grown at most once.
+     *
+     * Must be amortized O(k) where k is the size of the collection.
+     *
+     * @param data The data to add to the list.
+     * @throws java.lang.IllegalArgumentException if data or any element in
+     * data is null
+     */
+    public void addAll(Collection<? extends T> data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data can't be null!");
+        }
+        insertAll(size, data.toArray());
+    }
+
+    /**
+     * Adds all of the data in the array to the list starting at the index
+     * specified.
+     *
+     * The backing array is grown at most once and the elements after index
+     * are shifted only once.
+     *
+     * Must be O(n + k) where k is the length of data.
+     *
+     * @param index The index where you want the first new element.
+     * @param data The data to add to the list.
+     * @throws java.lang.IndexOutOfBoundsException if index is negative
+     * or index > size
+     * @throws java.lang.IllegalArgumentException if data or any element in
+     * data is null
+     */
+    public void addAll(int index, T[] data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data can't be null!");
+        }
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("index out of bounds!");
+        }
+        insertAll(index, data);
+    }
+
+    /**
+     * helper method of addAll, checks the data and inserts it at index
+     * with a single grow and a single shift
+     * @param index the index of the first new element
+     * @param data the data to insert
+     */
+    @SuppressWarnings("unchecked")
+    private void insertAll(int index, Object[] data) {
+        for (Object d : data) {
+            if (d == null) {
+                throw new IllegalArgumentException("data can't be null!");
+            }
+        }
+        int k = data.length;
+        if (size + k > backingArray.length) {
+            regrow(size + k);
+        }
+        if (circular) {
+            for (int i = size - 1; i >= index; i--) {
+                backingArray[physical(i + k)] = backingArray[physical(i)];
+            }
+            for (int i = 0; i < k; i++) {
+                backingArray[physical(index + i)] = (T) data[i];
+            }
+        } else {
+            System.arraycopy(backingArray, index, backingArray, index + k,
+                size - index);
+            System.arraycopy(data, 0, backingArray, index, k);
+        }
+        size += k;
+        modCount++;
     }
 
     /**
@@ -131,18 +231,19 @@ public class ArrayList<T> {
      * index >= size
      */
     public T removeAtIndex(int index) {
-        if (index < 0 || index > size) {
-            throw new IndexOutOfBoundsException("index can't be negative");
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index out of bounds!");
         }
         if (index == 0) {
-            return null;
+            return removeFromFront();
         }
-        T ret = backingArray[index];
+        T ret = backingArray[physical(index)];
         for (int i = index; i < size - 1; i++) {
-            backingArray[i] = backingArray[i + 1];
+            backingArray[physical(i)] = backingArray[physical(i + 1)];
         }
-        backingArray[size - 1] = null;
+        backingArray[physical(size - 1)] = null;
         size--;
+        modCount++;
         return ret;
     }
 
@@ -151,7 +252,7 @@ public class ArrayList<T> {
      *
      * Remember that this remove may require elements to be shifted.
      *
-     * Must be O(n).
+     * Must be O(n), or O(1) for a circular list.
      *
      * @return The data from the front of the list or null if the list is empty
      */
@@ -159,12 +260,18 @@ public class ArrayList<T> {
         if (size == 0) {
             return null;
         }
-        T ret = backingArray[0];
-        for (int i = 0; i < size - 1; i++) {
-            backingArray[i] = backingArray[i + 1];
+        T ret = backingArray[front];
+        if (circular) {
+            backingArray[front] = null;
+            front = front + 1 == backingArray.length ? 0 : front + 1;
+        } else {
+            for (int i = 0; i < size - 1; i++) {
+                backingArray[i] = backingArray[i + 1];
+            }
+            backingArray[size - 1] = null;
         }
-        backingArray[size - 1] = null;
         size--;
+        modCount++;
         return ret;
     }
 
@@ -179,12 +286,41 @@ public class ArrayList<T> {
         if (size == 0) {
             return null;
         }
-        T ret = backingArray[size - 1];
-        backingArray[size - 1] = null;
+        T ret = backingArray[physical(size - 1)];
+        backingArray[physical(size - 1)] = null;
         size--;
+        modCount++;
         return ret;
     }
 
+    /**
+     * Removes the elements from index {@code from}, inclusive, to index
+     * {@code to}, exclusive.
+     *
+     * The elements after the range are shifted only once.
+     *
+     * Must be O(n).
+     *
+     * @param from The index of the first element to remove.
+     * @param to The index after the last element to remove.
+     * @throws java.lang.IndexOutOfBoundsException if from < 0, to > size
+     * or from > to
+     */
+    public void removeRange(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("range out of bounds!");
+        }
+        int k = to - from;
+        for (int i = from; i < size - k; i++) {
+            backingArray[physical(i)] = backingArray[physical(i + k)];
+        }
+        for (int i = size - k; i < size; i++) {
+            backingArray[physical(i)] = null;
+        }
+        size -= k;
+        modCount++;
+    }
+
     /**
      * Returns the element at the given index.
      *
@@ -199,7 +335,182 @@ public class ArrayList<T> {
         if (index < 0 || index >= size) {
             throw new IndexOutOfBoundsException("index out of bounds!");
         }
-        return backingArray[index];
+        return backingArray[physical(index)];
+    }
+
+    /**
+     * Returns a read-only view of the elements from index {@code from},
+     * inclusive, to index {@code to}, exclusive. No elements are copied.
+     *
+     * The view reads through to this list and throws a
+     * ConcurrentModificationException once this list is structurally
+     * modified.
+     *
+     * Must be O(1).
+     *
+     * @param from The index of the first element in the view.
+     * @param to The index after the last element in the view.
+     * @return a view of the given range of this list
+     * @throws java.lang.IndexOutOfBoundsException if from < 0, to > size
+     * or from > to
+     */
+    public List<T> subList(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("range out of bounds!");
+        }
+        int expectedModCount = modCount;
+        return new AbstractList<T>() {
+            @Override
+            public T get(int index) {
+                if (ArrayList.this.modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (index < 0 || index >= to - from) {
+                    throw new IndexOutOfBoundsException(
+                        "index out of bounds!");
+                }
+                return ArrayList.this.get(from + index);
+            }
+
+            @Override
+            public int size() {
+                return to - from;
+            }
+        };
+    }
+
+    /**
+     * Returns an iterator over the list from front to back.
+     *
+     * The iterator is fail-fast: it throws a ConcurrentModificationException
+     * if the list is structurally modified after it was created.
+     *
+     * @return an iterator over the list
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int cursor;
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            public T next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (cursor >= size) {
+                    throw new NoSuchElementException("no more elements!");
+                }
+                return backingArray[physical(cursor++)];
+            }
+        };
+    }
+
+    /**
+     * Performs the action on every element from front to back, reading the
+     * backing array directly.
+     *
+     * Must be O(n).
+     *
+     * @param action the action to perform
+     * @throws java.lang.IllegalArgumentException if action is null
+     * @throws java.util.ConcurrentModificationException if the action
+     * structurally modifies the list
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("action can't be null!");
+        }
+        int expectedModCount = modCount;
+        for (int i = 0; i < size && modCount == expectedModCount; i++) {
+            action.accept(backingArray[physical(i)]);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Returns a SIZED and SUBSIZED spliterator over the list that splits the
+     * index range in half.
+     *
+     * @return a spliterator over the list
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArraySpliterator(0, size, modCount);
+    }
+
+    /**
+     * Spliterator over a range of list indices.
+     */
+    private class ArraySpliterator implements Spliterator<T> {
+        private int index;
+        private final int fence;
+        private final int expectedModCount;
+
+        /**
+         * Creates a spliterator over the indices {@code [index, fence)}.
+         *
+         * @param index the first index
+         * @param fence the index after the last
+         * @param expectedModCount the mod count the list must keep
+         */
+        ArraySpliterator(int index, int fence, int expectedModCount) {
+            this.index = index;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(backingArray[physical(index++)]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            for (; index < fence; index++) {
+                action.accept(backingArray[physical(index)]);
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            Spliterator<T> prefix =
+                new ArraySpliterator(index, mid, expectedModCount);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
     }
 
     /**
@@ -223,6 +534,113 @@ public class ArrayList<T> {
     public void clear() {
         backingArray = (T[]) new Object[INITIAL_CAPACITY];
         size = 0;
+        front = 0;
+        modCount++;
+    }
+
+    /**
+     * helper method, maps a list index to its slot in the backing array
+     * @param index the list index
+     * @return the backing array index holding that element
+     */
+    private int physical(int index) {
+        int i = front + index;
+        return i >= backingArray.length ? i - backingArray.length : i;
+    }
+
+    /**
+     * Sets the policy used to pick the new capacity whenever the backing
+     * array is full.
+     *
+     * @param growthPolicy the policy to use
+     * @throws java.lang.IllegalArgumentException if growthPolicy is null
+     */
+    public void setGrowthPolicy(GrowthPolicy growthPolicy) {
+        if (growthPolicy == null) {
+            throw new IllegalArgumentException("policy can't be null!");
+        }
+        this.growthPolicy = growthPolicy;
+    }
+
+    /**
+     * Sets the listener told about every resize of the backing array, or
+     * removes it if {@code resizeListener} is null.
+     *
+     * @param resizeListener the listener to notify
+     */
+    public void setResizeListener(ResizeListener resizeListener) {
+        this.resizeListener = resizeListener;
+    }
+
+    /**
+     * Returns how many times the backing array has been replaced by a grow,
+     * {@code ensureCapacity} or {@code trimToSize}.
+     *
+     * @return the number of resizes so far
+     */
+    public int getResizeCount() {
+        return resizeCount;
+    }
+
+    /**
+     * Grows the backing array, if needed, so it can hold at least
+     * {@code minCapacity} elements without another resize.
+     *
+     * Must be O(n) if a resize happens, O(1) otherwise.
+     *
+     * @param minCapacity the number of elements that must fit
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > backingArray.length) {
+            resize(minCapacity);
+        }
+    }
+
+    /**
+     * Shrinks the backing array to the size of the list (or 1 if the list
+     * is empty).
+     *
+     * Must be O(n).
+     */
+    public void trimToSize() {
+        int capacity = Math.max(size, 1);
+        if (capacity < backingArray.length) {
+            resize(capacity);
+        }
+    }
+
+    /**
+     * helper method, grows the backing array following the growth policy
+     * until it can hold {@code minCapacity} elements
+     * @param minCapacity the number of elements that must fit
+     */
+    private void regrow(int minCapacity) {
+        resize(Math.max(growthPolicy.newCapacity(backingArray.length,
+            minCapacity), minCapacity));
+    }
+
+    /**
+     * helper method, replaces the backing array with one of the given
+     * capacity, copying the elements to its beginning in list order
+     * @param capacity the capacity of the new backing array
+     */
+    private void resize(int capacity) {
+        int oldCapacity = backingArray.length;
+        @SuppressWarnings("unchecked")
+        T[] arr = (T[]) new Object[capacity];
+        if (front + size <= oldCapacity) {
+            System.arraycopy(backingArray, front, arr, 0, size);
+        } else {
+            int first = oldCapacity - front;
+            System.arraycopy(backingArray, front, arr, 0, first);
+            System.arraycopy(backingArray, 0, arr, first, size - first);
+        }
+        backingArray = arr;
+        front = 0;
+        resizeCount++;
+        if (resizeListener != null) {
+            resizeListener.onResize(oldCapacity, capacity, size);
+        }
     }
 
     /**
@@ -1,9 +1,14 @@
 import org.junit.Before;
 import org.junit.Test;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.stream.StreamSupport;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 
 /**
  * This is a basic set of unit tests for ArrayList. Passing these does
@@ -199,4 +204,133 @@ public class ArrayListStudentTests {
         assertArrayEquals(new Object[ArrayList.INITIAL_CAPACITY],
             list.getBackingArray());
     }
+
+    @Test(timeout = TIMEOUT)
+    public void testIntArrayListBulk() {
+        IntArrayList ints = new IntArrayList();
+        ints.addAll(new int[] {1, 2, 3});
+        ints.addToFront(0); // 0 1 2 3
+        ints.addAtIndex(4, 5); // 0 1 2 3 5
+        ints.addAll(new int[20]);
+
+        assertEquals(25, ints.size());
+        assertEquals(5, ints.get(4));
+        assertEquals(0, ints.removeFromFront()); // 1 2 3 5 ...
+        assertEquals(3, ints.removeAtIndex(2)); // 1 2 5 ...
+
+        int[] expected = new int[23];
+        expected[0] = 1;
+        expected[1] = 2;
+        expected[2] = 5;
+        assertArrayEquals(expected, ints.toArray());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCircularFrontAndBack() {
+        list = new ArrayList<String>(true);
+        for (int i = 0; i < 10; i++) {
+            list.addToFront(i + "f");
+            list.addToBack(i + "b");
+        }
+        // 9f ... 0f 0b ... 9b
+        assertEquals(20, list.size());
+        assertEquals("9f", list.get(0));
+        assertEquals("0b", list.get(10));
+        assertEquals("9b", list.get(19));
+
+        assertEquals("9f", list.removeFromFront());
+        assertEquals("9b", list.removeFromBack());
+        assertEquals("0f", list.removeAtIndex(8));
+        list.addAtIndex(8, "x");
+        assertEquals("8f", list.get(0));
+        assertEquals("x", list.get(8));
+        assertEquals("0b", list.get(9));
+        assertEquals(18, list.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testBulkOperations() {
+        list.addAll(Arrays.asList("0a", "1a", "5a"));
+        list.addAll(2, new String[] {"2a", "3a", "4a"});
+        // 0a 1a 2a 3a 4a 5a
+
+        assertEquals(6, list.size());
+        assertEquals(Arrays.asList("1a", "2a", "3a"),
+            list.subList(1, 4));
+
+        list.removeRange(1, 5); // 0a 5a
+        assertEquals(2, list.size());
+        Object[] expected = new Object[ArrayList.INITIAL_CAPACITY];
+        expected[0] = "0a";
+        expected[1] = "5a";
+        assertArrayEquals(expected, list.getBackingArray());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testGrowthPolicyAndCapacity() {
+        int[] copied = new int[1];
+        list.setGrowthPolicy(GrowthPolicy.fixedIncrement(5));
+        list.setResizeListener((oldCapacity, newCapacity, size) ->
+            copied[0] += size);
+
+        for (int i = 0; i < 14; i++) {
+            list.addToBack(i + "a");
+        }
+        assertEquals(18, list.getBackingArray().length);
+        assertEquals(1, list.getResizeCount());
+        assertEquals(13, copied[0]);
+
+        list.ensureCapacity(100);
+        assertEquals(100, list.getBackingArray().length);
+        list.trimToSize();
+        assertEquals(14, list.getBackingArray().length);
+        assertEquals("13a", list.get(13));
+        assertEquals(3, list.getResizeCount());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testIterationAndFailFast() {
+        list.addToBack("0a");
+        list.addToBack("1a");
+        list.addToBack("2a");
+
+        StringBuilder sb = new StringBuilder();
+        for (String s : list) {
+            sb.append(s);
+        }
+        list.forEach(sb::append);
+        assertEquals("0a1a2a0a1a2a", sb.toString());
+        assertEquals(3, StreamSupport
+            .stream(list.spliterator(), true).count());
+
+        Iterator<String> it = list.iterator();
+        it.next();
+        list.addToBack("3a");
+        try {
+            it.next();
+            fail();
+        } catch (ConcurrentModificationException e) {
+            assertEquals(4, list.size());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRemoveAtIndexBounds() {
+        for (boolean circular : new boolean[] {false, true}) {
+            list = new ArrayList<String>(circular);
+            list.addToBack("0a");
+            list.addToBack("1a");
+            list.addToBack("2a");
+            try {
+                list.removeAtIndex(3);
+                fail();
+            } catch (IndexOutOfBoundsException e) {
+                assertEquals(3, list.size());
+            }
+            assertEquals("0a", list.removeAtIndex(0));
+            assertEquals("2a", list.removeAtIndex(1));
+            assertEquals("1a", list.get(0));
+            assertEquals(1, list.size());
+        }
+    }
 }
@@ -0,0 +1,100 @@
+/**
+ * Decides how large the backing array of an ArrayList becomes when it has
+ * to grow.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public interface GrowthPolicy {
+
+    /**
+     * The largest capacity any policy will return.
+     */
+    int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * Returns the new capacity for a backing array that currently holds
+     * {@code capacity} slots and must hold at least {@code minCapacity}.
+     *
+     * The caller uses the larger of the returned value and
+     * {@code minCapacity}, so a policy only has to describe its step.
+     *
+     * @param capacity the current capacity of the backing array
+     * @param minCapacity the number of elements that must fit
+     * @return the new capacity
+     */
+    int newCapacity(int capacity, int minCapacity);
+
+    /**
+     * Returns a policy that doubles the capacity. This is the default.
+     *
+     * @return the doubling policy
+     */
+    static GrowthPolicy doubling() {
+        return factor(2.0);
+    }
+
+    /**
+     * Returns a policy that multiplies the capacity by the given factor,
+     * for example 1.5.
+     *
+     * @param factor the growth factor
+     * @return the multiplicative policy
+     * @throws java.lang.IllegalArgumentException if factor <= 1
+     */
+    static GrowthPolicy factor(double factor) {
+        if (!(factor > 1.0)) {
+            throw new IllegalArgumentException("factor must be above 1!");
+        }
+        return (capacity, minCapacity) -> clamp(
+            Math.max((long) (capacity * factor), capacity + 1L));
+    }
+
+    /**
+     * Returns a policy that adds a fixed number of slots on each grow.
+     *
+     * @param increment the number of slots to add
+     * @return the fixed increment policy
+     * @throws java.lang.IllegalArgumentException if increment <= 0
+     */
+    static GrowthPolicy fixedIncrement(int increment) {
+        if (increment <= 0) {
+            throw new IllegalArgumentException(
+                "increment must be positive!");
+        }
+        return (capacity, minCapacity) -> clamp((long) capacity + increment);
+    }
+
+    /**
+     * Returns a policy that follows {@code policy} but never grows by more
+     * than {@code maxStep} slots at a time.
+     *
+     * @param policy the policy to cap
+     * @param maxStep the largest number of slots to add at once
+     * @return the capped policy
+     * @throws java.lang.IllegalArgumentException if policy is null or
+     * maxStep <= 0
+     */
+    static GrowthPolicy capped(GrowthPolicy policy, int maxStep) {
+        if (policy == null) {
+            throw new IllegalArgumentException("policy can't be null!");
+        }
+        if (maxStep <= 0) {
+            throw new IllegalArgumentException("maxStep must be positive!");
+        }
+        return (capacity, minCapacity) -> clamp(Math.min(
+            (long) policy.newCapacity(capacity, minCapacity),
+            (long) capacity + maxStep));
+    }
+
+    /**
+     * helper method, limits a capacity to {@code MAX_CAPACITY}
+     * @param capacity the requested capacity
+     * @return the capacity as an int no larger than {@code MAX_CAPACITY}
+     */
+    private static int clamp(long capacity) {
+        return (int) Math.min(capacity, MAX_CAPACITY);
+    }
+}
@@ -0,0 +1,244 @@
+/**
+ * Your implementation of an ArrayList specialized for int values.
+ *
+ * Elements are stored directly in an int[] so that no boxing is done on
+ * add or get.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class IntArrayList {
+
+    private int[] backingArray;
+    private int size;
+
+    /**
+     * The initial capacity of the array list.
+     */
+    public static final int INITIAL_CAPACITY = 13;
+
+    /**
+     * Constructs a new IntArrayList.
+     */
+    public IntArrayList() {
+        backingArray = new int[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Adds the element to the index specified.
+     *
+     * Adding to index {@code size} should be amortized O(1),
+     * all other adds are O(n).
+     *
+     * @param index The index where you want the new element.
+     * @param data The data to add to the list.
+     * @throws java.lang.IndexOutOfBoundsException if index is negative
+     * or index > size
+     */
+    public void addAtIndex(int index, int data) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("index out of bounds!");
+        }
+        grow(size + 1);
+        System.arraycopy(backingArray, index, backingArray, index + 1,
+            size - index);
+        backingArray[index] = data;
+        size++;
+    }
+
+    /**
+     * Add the given data to the front of your array list.
+     *
+     * Must be O(n).
+     *
+     * @param data The data to add to the list.
+     */
+    public void addToFront(int data) {
+        addAtIndex(0, data);
+    }
+
+    /**
+     * Add the given data to the back of your array list.
+     *
+     * Must be amortized O(1).
+     *
+     * @param data The data to add to the list.
+     */
+    public void addToBack(int data) {
+        grow(size + 1);
+        backingArray[size] = data;
+        size++;
+    }
+
+    /**
+     * Adds all of the given data to the back of the list, in order.
+     *
+     * The backing array is grown at most once.
+     *
+     * Must be amortized O(k) where k is the length of data.
+     *
+     * @param data The data to add to the list.
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addAll(int[] data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data can't be null!");
+        }
+        grow(size + data.length);
+        System.arraycopy(data, 0, backingArray, size, data.length);
+        size += data.length;
+    }
+
+    /**
+     * Removes and returns the element at index.
+     *
+     * This method should be O(1) for index {@code size - 1} and O(n) in
+     * all other cases.
+     *
+     * @param index The index of the element
+     * @return The value that was formerly at that index.
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or
+     * index >= size
+     */
+    public int removeAtIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index out of bounds!");
+        }
+        int ret = backingArray[index];
+        System.arraycopy(backingArray, index + 1, backingArray, index,
+            size - index - 1);
+        size--;
+        backingArray[size] = 0;
+        return ret;
+    }
+
+    /**
+     * Remove the first element in the list and return it.
+     *
+     * Must be O(n).
+     *
+     * @return The data from the front of the list
+     * @throws java.util.NoSuchElementException if the list is empty
+     */
+    public int removeFromFront() {
+        if (size == 0) {
+            throw new java.util.NoSuchElementException("list is empty!");
+        }
+        return removeAtIndex(0);
+    }
+
+    /**
+     * Remove the last element in the list and return it.
+     *
+     * Must be O(1).
+     *
+     * @return The data from the back of the list
+     * @throws java.util.NoSuchElementException if the list is empty
+     */
+    public int removeFromBack() {
+        if (size == 0) {
+            throw new java.util.NoSuchElementException("list is empty!");
+        }
+        size--;
+        int ret = backingArray[size];
+        backingArray[size] = 0;
+        return ret;
+    }
+
+    /**
+     * Returns the element at the given index.
+     *
+     * Must be O(1).
+     *
+     * @param index The index of the element
+     * @return The data stored at that index.
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or
+     * index >= size
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index out of bounds!");
+        }
+        return backingArray[index];
+    }
+
+    /**
+     * Returns a copy of the data in the list.
+     *
+     * Must be O(n).
+     *
+     * @return an array of length {@code size} holding the list in order
+     */
+    public int[] toArray() {
+        int[] arr = new int[size];
+        System.arraycopy(backingArray, 0, arr, 0, size);
+        return arr;
+    }
+
+    /**
+     * Return a boolean value representing whether or not the list is empty.
+     *
+     * Must be O(1).
+     *
+     * @return true if empty; false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Clear the list. Reset the backing array to a new array of the initial
+     * capacity.
+     *
+     * Must be O(1).
+     */
+    public void clear() {
+        backingArray = new int[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * helper method, grows the backing array to the larger of
+     * {@code minCapacity} and twice its length, clamping the doubled length
+     * to {@code GrowthPolicy.MAX_CAPACITY}
+     * @param minCapacity the number of elements that must fit, negative if
+     * the count overflowed
+     */
+    private void grow(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("list is too large!");
+        }
+        if (minCapacity > backingArray.length) {
+            int capacity = Math.max(minCapacity, (int) Math.min(
+                2L * backingArray.length, GrowthPolicy.MAX_CAPACITY));
+            int[] arr = new int[capacity];
+            System.arraycopy(backingArray, 0, arr, 0, size);
+            backingArray = arr;
+        }
+    }
+
+    /**
+     * Return the size of the list as an integer.
+     *
+     * For grading purposes only. DO NOT USE THIS METHOD IN YOUR CODE!
+     *
+     * @return the size of the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the backing array for this list.
+     *
+     * For grading purposes only. DO NOT USE THIS METHOD IN YOUR CODE!
+     *
+     * @return the backing array for this list
+     */
+    public int[] getBackingArray() {
+        return backingArray;
+    }
+}
@@ -0,0 +1,20 @@
+/**
+ * Metrics hook that is told every time an ArrayList replaces its backing
+ * array.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public interface ResizeListener {
+
+    /**
+     * Called after the backing array has been replaced.
+     *
+     * @param oldCapacity the capacity before the resize
+     * @param newCapacity the capacity after the resize
+     * @param size the number of elements that were copied
+     */
+    void onResize(int oldCapacity, int newCapacity, int size);
+}
@@ -1,3 +1,12 @@
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
 /**
  * Your implementation of a non-circular doubly linked list with a tail pointer.
  *
@@ -6,11 +15,44 @@
  * @GTID 903132413
  * @version 1.0
  */
-public class DoublyLinkedList<T> {
-    // Do not add new instance variables or modify existing ones.
+public class DoublyLinkedList<T> implements Iterable<T> {
     private LinkedListNode<T> head;
     private LinkedListNode<T> tail;
     private int size;
+    private int modCount;
+    private LinkedListNode<T> finger;
+    private int fingerIndex;
+    private int fingerModCount;
+    private PooledNode<T> pool;
+    private int poolSize;
+    private final int maxPoolSize;
+    private Map<T, Integer> valueCounts;
+
+    /**
+     * Constructs a new, empty DoublyLinkedList that does not recycle nodes.
+     */
+    public DoublyLinkedList() {
+        this(0);
+    }
+
+    /**
+     * Constructs a new, empty DoublyLinkedList that keeps up to
+     * {@code maxPoolSize} removed nodes and reuses them for later adds, so a
+     * list whose size stays within that bound stops allocating once warm.
+     *
+     * Nodes returned by {@code getHead} and {@code getTail} may be reused
+     * after they are removed from the list.
+     *
+     * @param maxPoolSize the largest number of removed nodes to keep
+     * @throws java.lang.IllegalArgumentException if maxPoolSize is negative
+     */
+    public DoublyLinkedList(int maxPoolSize) {
+        if (maxPoolSize < 0) {
+            throw new IllegalArgumentException(
+                "maxPoolSize cannot be negative!");
+        }
+        this.maxPoolSize = maxPoolSize;
+    }
 
     /**
      * Adds the element to the index specified.
@@ -24,7 +66,6 @@ public class DoublyLinkedList<T> {
      * index > size
      * @throws java.lang.IllegalArgumentException if data is null
      */
-    @SuppressWarnings("rawtypes")
     public void addAtIndex(int index, T data) {
         if (data == null) {
             throw new IllegalArgumentException("data cannot be null!");
@@ -32,8 +73,7 @@ public class DoublyLinkedList<T> {
         if (index > size || index < 0) {
             throw new IndexOutOfBoundsException("index is out of bounds!");
         }
-        @SuppressWarnings("unchecked")
-        LinkedListNode<T> temp = new LinkedListNode(data);
+        LinkedListNode<T> temp = newNode(data);
         if (index == 0) {
             if (head == null) {
                 head = temp;
@@ -55,16 +95,15 @@ public class DoublyLinkedList<T> {
                 tail = temp;
             }
         } else {
-            LinkedListNode<T> current = head;
-            for (int i = 0; i < index; i++) {
-                current = current.getNext();
-            }
+            LinkedListNode<T> current = node(index);
             temp.setNext(current);
             temp.setPrevious(current.getPrevious());
             (current.getPrevious()).setNext(temp);
             current.setPrevious(temp);
         }
         size++;
+        modCount++;
+        setFinger(temp, index);
     }
 
     /**
@@ -75,13 +114,11 @@ public class DoublyLinkedList<T> {
      * @param data the data for the new element
      * @throws java.lang.IllegalArgumentException if data is null.
      */
-    @SuppressWarnings("rawtypes")
     public void addToFront(T data) {
         if (data == null) {
             throw new IllegalArgumentException("data cannot be null!");
         }
-        @SuppressWarnings("unchecked")
-        LinkedListNode<T> temp = new LinkedListNode(data);
+        LinkedListNode<T> temp = newNode(data);
         if (head == null) {
             head = temp;
             tail = temp;
@@ -92,6 +129,7 @@ public class DoublyLinkedList<T> {
             head = temp;
         }
         size++;
+        modCount++;
     }
 
     /**
@@ -102,13 +140,11 @@ public class DoublyLinkedList<T> {
      * @param data the data for the new element
      * @throws java.lang.IllegalArgumentException if data is null.
      */
-    @SuppressWarnings("rawtypes")
     public void addToBack(T data) {
         if (data == null) {
             throw new IllegalArgumentException("data cannot be null!");
         }
-        @SuppressWarnings("unchecked")
-        LinkedListNode<T> temp = new LinkedListNode(data);
+        LinkedListNode<T> temp = newNode(data);
         if (tail == null) {
             head = temp;
             tail = temp;
@@ -119,6 +155,7 @@ public class DoublyLinkedList<T> {
             tail = temp;
         }
         size++;
+        modCount++;
     }
 
     /**
@@ -133,7 +170,7 @@ public class DoublyLinkedList<T> {
      * index >= size
      */
     public T removeAtIndex(int index) {
-        if (index > size || index < 0) {
+        if (index >= size || index < 0) {
             throw new IndexOutOfBoundsException("index is out of bounds!");
         }
         if (index == 0) {
@@ -146,7 +183,8 @@ public class DoublyLinkedList<T> {
                 head = head.getNext();
             }
             size--;
-            return curr.getData();
+            modCount++;
+            return recycle(curr);
         } else if (index == size - 1) {
             LinkedListNode<T> curr = tail;
             if (size == 1) {
@@ -157,16 +195,16 @@ public class DoublyLinkedList<T> {
                 tail = tail.getPrevious();
             }
             size--;
-            return curr.getData();
+            modCount++;
+            return recycle(curr);
         } else {
-            LinkedListNode<T> curr = head;
-            for (int i = 0; i < index; i++) {
-                curr = curr.getNext();
-            }
+            LinkedListNode<T> curr = node(index);
             curr.getNext().setPrevious(curr.getPrevious());
             curr.getPrevious().setNext(curr.getNext());
             size--;
-            return curr.getData();
+            modCount++;
+            setFinger(curr.getNext(), index);
+            return recycle(curr);
         }
     }
 
@@ -191,7 +229,8 @@ public class DoublyLinkedList<T> {
             head = head.getNext();
         }
         size--;
-        return curr.getData();
+        modCount++;
+        return recycle(curr);
     }
 
     /**
@@ -215,14 +254,16 @@ public class DoublyLinkedList<T> {
             tail = tail.getPrevious();
         }
         size--;
-        return curr.getData();
+        modCount++;
+        return recycle(curr);
     }
 
     /**
      * Returns the index of the last occurrence of the passed in data in the
      * list or -1 if it is not in the list.
      *
-     * If data is in the tail, should be O(1). In all other cases, O(n).
+     * If data is in the tail, should be O(1). If the value index is enabled
+     * and data is not in the list, O(1). In all other cases, O(n).
      *
      * @param data the data to search for
      * @throws java.lang.IllegalArgumentException if data is null
@@ -232,23 +273,90 @@ public class DoublyLinkedList<T> {
         if (data == null) {
             throw new IllegalArgumentException("data cannot be null!");
         }
-        int index = 0;
-        int count = 0;
-        if (isEmpty()) {
+        if (valueCounts != null && !valueCounts.containsKey(data)) {
+            return -1;
+        }
+        LinkedListNode<T> curr = tail;
+        for (int i = size - 1; i >= 0; i--) {
+            if (curr.getData().equals(data)) {
+                return i;
+            }
+            curr = curr.getPrevious();
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the passed in data in the
+     * list or -1 if it is not in the list.
+     *
+     * If data is in the head, should be O(1). If the value index is enabled
+     * and data is not in the list, O(1). In all other cases, O(n).
+     *
+     * @param data the data to search for
+     * @throws java.lang.IllegalArgumentException if data is null
+     * @return the index of the first occurrence or -1 if not in the list
+     */
+    public int indexOf(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        if (valueCounts != null && !valueCounts.containsKey(data)) {
             return -1;
         }
         LinkedListNode<T> curr = head;
         for (int i = 0; i < size; i++) {
             if (curr.getData().equals(data)) {
-                count = index;
+                return i;
             }
-            index++;
             curr = curr.getNext();
         }
-        if (count == 0) {
-            return -1;
-        } else {
-            return count;
+        return -1;
+    }
+
+    /**
+     * Returns whether the data is in the list.
+     *
+     * O(1) expected if the value index is enabled, O(n) otherwise.
+     *
+     * @param data the data to search for
+     * @throws java.lang.IllegalArgumentException if data is null
+     * @return true if the list contains data; false otherwise
+     */
+    public boolean contains(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        if (valueCounts != null) {
+            return valueCounts.containsKey(data);
+        }
+        return indexOf(data) != -1;
+    }
+
+    /**
+     * Turns on the value index, a hash map from each distinct value in the
+     * list to the number of times it occurs, used as a membership test. It
+     * is kept up to date by every add and remove from then on.
+     *
+     * With the index, {@code contains} is O(1) expected, and
+     * {@code lastOccurrence} and {@code indexOf} return -1 in O(1) expected
+     * for data that is not in the list instead of scanning it. Data that is
+     * in the list is still found by an O(n) scan: both methods return an
+     * index, and a linked list can only count its way to one, so mapping
+     * values to their nodes would not make them faster. The cost is one
+     * hash map entry per distinct value (roughly 50-60 bytes on a 64-bit
+     * JVM) and a hash update on every add and remove, so it pays off when
+     * contains calls or lookups of absent values are frequent.
+     *
+     * Must be O(n) to build from the current contents.
+     */
+    public void enableValueIndex() {
+        if (valueCounts == null) {
+            valueCounts = new HashMap<>();
+            for (LinkedListNode<T> curr = head; curr != null;
+                    curr = curr.getNext()) {
+                valueCounts.merge(curr.getData(), 1, Integer::sum);
+            }
         }
     }
 
@@ -256,6 +364,8 @@ public class DoublyLinkedList<T> {
      * Returns the element at the specified index.
      *
      * Getting the head and tail should be O(1), all other cases are O(n).
+     * Indices near the last one looked up are found in O(1), so scanning
+     * the list by index is amortized O(1) per step.
      *
      * @param index the index of the requested element
      * @return the object stored at index
@@ -263,14 +373,53 @@ public class DoublyLinkedList<T> {
      * index >= size
      */
     public T get(int index) {
-        if (index > size || index < 0) {
+        if (index >= size || index < 0) {
             throw new IndexOutOfBoundsException("index is out of bounds!");
         }
-        LinkedListNode<T> curr = head;
-        for (int i = 0; i < index; i++) {
+        return node(index).getData();
+    }
+
+    /**
+     * helper method, finds the node at index by walking from whichever of
+     * the head, the tail or the cached finger is closest, then moves the
+     * finger to that node
+     * @param index the index of the node, between 0 and size - 1
+     * @return the node at index
+     */
+    private LinkedListNode<T> node(int index) {
+        LinkedListNode<T> curr;
+        int i;
+        if (index < size - 1 - index) {
+            curr = head;
+            i = 0;
+        } else {
+            curr = tail;
+            i = size - 1;
+        }
+        if (fingerModCount == modCount && finger != null
+                && Math.abs(fingerIndex - index) < Math.abs(i - index)) {
+            curr = finger;
+            i = fingerIndex;
+        }
+        for (; i < index; i++) {
             curr = curr.getNext();
         }
-        return curr.getData();
+        for (; i > index; i--) {
+            curr = curr.getPrevious();
+        }
+        setFinger(curr, index);
+        return curr;
+    }
+
+    /**
+     * helper method, caches a node and its index for the next lookup
+     * @param node the node to remember
+     * @param index the index of that node
+     */
+    private void setFinger(LinkedListNode<T> node, int index) {
+        finger = node;
+        fingerIndex = index;
+        fingerModCount = modCount;
     }
 
     /**
@@ -291,6 +440,379 @@ public class DoublyLinkedList<T> {
         return arr;
     }
 
+    /**
+     * Returns an iterator over the list from head to tail that follows the
+     * node links, so a full iteration is O(n).
+     *
+     * The iterator is fail-fast: it throws a ConcurrentModificationException
+     * if the list is structurally modified after it was created.
+     *
+     * @return an iterator over the list
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private LinkedListNode<T> curr = head;
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return curr != null;
+            }
+
+            @Override
+            public T next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (curr == null) {
+                    throw new NoSuchElementException("no more elements!");
+                }
+                T data = curr.getData();
+                curr = curr.getNext();
+                return data;
+            }
+        };
+    }
+
+    /**
+     * Performs the action on every element from head to tail.
+     *
+     * Must be O(n) for all cases.
+     *
+     * @param action the action to perform
+     * @throws java.lang.IllegalArgumentException if action is null
+     * @throws java.util.ConcurrentModificationException if the action
+     * structurally modifies the list
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("action cannot be null!");
+        }
+        int expectedModCount = modCount;
+        LinkedListNode<T> curr = head;
+        while (curr != null && modCount == expectedModCount) {
+            action.accept(curr.getData());
+            curr = curr.getNext();
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Returns a SIZED and SUBSIZED spliterator over the list. Splitting
+     * copies a prefix of the remaining nodes into an array batch.
+     *
+     * @return a spliterator over the list
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new NodeSpliterator();
+    }
+
+    /**
+     * Spliterator that walks the node chain from the head.
+     */
+    private class NodeSpliterator implements Spliterator<T> {
+        private LinkedListNode<T> curr = head;
+        private int remaining = size;
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (remaining == 0) {
+                return false;
+            }
+            action.accept(curr.getData());
+            curr = curr.getNext();
+            remaining--;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            for (; remaining > 0; remaining--) {
+                action.accept(curr.getData());
+                curr = curr.getNext();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int batch = remaining / 2;
+            if (batch == 0) {
+                return null;
+            }
+            Object[] arr = new Object[batch];
+            for (int i = 0; i < batch; i++) {
+                arr[i] = curr.getData();
+                curr = curr.getNext();
+            }
+            remaining -= batch;
+            return Spliterators.spliterator(arr, characteristics());
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+    }
+
+    /**
+     * Returns a cursor positioned on the head of the list.
+     *
+     * Must be O(1) for all cases.
+     *
+     * @return a cursor on the head, or an invalid cursor if the list is empty
+     */
+    public ListCursor<T> cursor() {
+        return new NodeCursor(head);
+    }
+
+    /**
+     * Returns a cursor positioned on the element at the specified index.
+     *
+     * Must be O(n), walking from the closest end.
+     *
+     * @param index the index of the element to start on
+     * @return a cursor on the element at index
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or
+     * index >= size
+     */
+    public ListCursor<T> cursor(int index) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("index is out of bounds!");
+        }
+        return new NodeCursor(node(index));
+    }
+
+    /**
+     * helper method, links a new node holding data between prev and next,
+     * either of which may be null at the ends of the list
+     * @param prev the node before the new node
+     * @param data the data for the new node
+     * @param next the node after the new node
+     * @return the new node
+     */
+    private LinkedListNode<T> link(LinkedListNode<T> prev, T data,
+            LinkedListNode<T> next) {
+        LinkedListNode<T> temp = newNode(data);
+        temp.setPrevious(prev);
+        temp.setNext(next);
+        if (prev == null) {
+            head = temp;
+        } else {
+            prev.setNext(temp);
+        }
+        if (next == null) {
+            tail = temp;
+        } else {
+            next.setPrevious(temp);
+        }
+        size++;
+        modCount++;
+        return temp;
+    }
+
+    /**
+     * helper method, unlinks the node from the list
+     * @param node the node to remove
+     */
+    private void unlink(LinkedListNode<T> node) {
+        LinkedListNode<T> prev = node.getPrevious();
+        LinkedListNode<T> next = node.getNext();
+        if (prev == null) {
+            head = next;
+        } else {
+            prev.setNext(next);
+        }
+        if (next == null) {
+            tail = prev;
+        } else {
+            next.setPrevious(prev);
+        }
+        size--;
+        modCount++;
+    }
+
+    /**
+     * helper method, accounts for data about to be added to the list and
+     * takes a node for it from the pool, or allocates one if the pool is
+     * empty
+     * @param data the data for the node
+     * @return an unlinked node holding data
+     */
+    private LinkedListNode<T> newNode(T data) {
+        if (valueCounts != null) {
+            valueCounts.merge(data, 1, Integer::sum);
+        }
+        if (pool == null) {
+            return maxPoolSize == 0 ? new LinkedListNode<>(data)
+                : new PooledNode<>(data);
+        }
+        PooledNode<T> node = pool;
+        pool = (PooledNode<T>) node.getNext();
+        poolSize--;
+        node.setNext(null);
+        node.item = data;
+        return node;
+    }
+
+    /**
+     * helper method, accounts for a node that was just removed from the
+     * list and returns it to the pool if there is room; when pooling is on
+     * every node is a PooledNode
+     * @param node the removed node
+     * @return the data the node held
+     */
+    private T recycle(LinkedListNode<T> node) {
+        T data = node.getData();
+        if (valueCounts != null) {
+            valueCounts.computeIfPresent(data,
+                (d, count) -> count == 1 ? null : count - 1);
+        }
+        if (poolSize < maxPoolSize) {
+            PooledNode<T> pooled = (PooledNode<T>) node;
+            pooled.item = null;
+            pooled.setPrevious(null);
+            pooled.setNext(pool);
+            pool = pooled;
+            poolSize++;
+        }
+        return data;
+    }
+
+    /**
+     * ListCursor that edits the list through the node links.
+     */
+    private class NodeCursor implements ListCursor<T> {
+        private LinkedListNode<T> curr;
+        private int expectedModCount = modCount;
+
+        /**
+         * Creates a cursor on the given node.
+         *
+         * @param curr the node to start on, null if the list is empty
+         */
+        NodeCursor(LinkedListNode<T> curr) {
+            this.curr = curr;
+        }
+
+        @Override
+        public boolean isValid() {
+            checkModCount();
+            return curr != null;
+        }
+
+        @Override
+        public T get() {
+            checkValid();
+            return curr.getData();
+        }
+
+        @Override
+        public boolean hasNext() {
+            checkModCount();
+            return curr != null && curr.getNext() != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("no next element!");
+            }
+            curr = curr.getNext();
+            return curr.getData();
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            checkModCount();
+            return curr != null && curr.getPrevious() != null;
+        }
+
+        @Override
+        public T previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException("no previous element!");
+            }
+            curr = curr.getPrevious();
+            return curr.getData();
+        }
+
+        @Override
+        public void insertBefore(T data) {
+            if (data == null) {
+                throw new IllegalArgumentException("data cannot be null!");
+            }
+            checkModCount();
+            if (curr == null) {
+                curr = link(null, data, null);
+            } else {
+                link(curr.getPrevious(), data, curr);
+            }
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void insertAfter(T data) {
+            if (data == null) {
+                throw new IllegalArgumentException("data cannot be null!");
+            }
+            checkModCount();
+            if (curr == null) {
+                curr = link(null, data, null);
+            } else {
+                link(curr, data, curr.getNext());
+            }
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public T remove() {
+            checkValid();
+            LinkedListNode<T> removed = curr;
+            curr = removed.getNext() != null
+                ? removed.getNext() : removed.getPrevious();
+            unlink(removed);
+            expectedModCount = modCount;
+            return recycle(removed);
+        }
+
+        /**
+         * helper method, checks that the list was only edited through this
+         * cursor
+         */
+        private void checkModCount() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        /**
+         * helper method, checks that the cursor is usable and on an element
+         */
+        private void checkValid() {
+            checkModCount();
+            if (curr == null) {
+                throw new NoSuchElementException("list is empty!");
+            }
+        }
+    }
+
     /**
      * Returns a boolean value indicating if the list is empty.
      *
@@ -310,7 +832,12 @@ public class DoublyLinkedList<T> {
     public void clear() {
         head = null;
         tail = null;
+        finger = null;
         size = 0;
+        modCount++;
+        if (valueCounts != null) {
+            valueCounts.clear();
+        }
     }
 
     /**
@@ -352,4 +879,33 @@ public class DoublyLinkedList<T> {
         // DO NOT MODIFY!
         return tail;
     }
+
+    /**
+     * A LinkedListNode whose data the list can replace when it reuses the
+     * node. LinkedListNode itself must not be altered, so the data lives in
+     * this class and getData is overridden to return it.
+     */
+    private static final class PooledNode<T> extends LinkedListNode<T> {
+        private T item;
+
+        /**
+         * Creates an unlinked node with the given data.
+         *
+         * @param data the data stored in the node
+         */
+        PooledNode(T data) {
+            super(null);
+            item = data;
+        }
+
+        @Override
+        public T getData() {
+            return item;
+        }
+
+        @Override
+        public String toString() {
+            return "Node containing: " + item;
+        }
+    }
 }
\ No newline at end of file
@@ -1,12 +1,19 @@
 import org.junit.Test;
 import org.junit.Before;
 
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * This is a basic set of unit tests for DoublyLinkedList.
@@ -346,4 +353,179 @@ public class LinkedListStudentTests {
         assertNull(list.getTail());
         assertTrue(list.isEmpty());
     }
+
+    @Test(timeout = TIMEOUT)
+    public void testIterationAndFailFast() {
+        for (int x = 0; x < 10; x++) {
+            list.addToBack(x + "a");
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (String s : list) {
+            sb.append(s);
+        }
+        assertEquals("0a1a2a3a4a5a6a7a8a9a", sb.toString());
+        sb.setLength(0);
+        list.forEach(sb::append);
+        assertEquals("0a1a2a3a4a5a6a7a8a9a", sb.toString());
+        assertArrayEquals(list.toArray(), StreamSupport
+            .stream(list.spliterator(), true).toArray());
+
+        Iterator<String> it = list.iterator();
+        it.next();
+        list.removeFromFront();
+        try {
+            it.next();
+            fail();
+        } catch (ConcurrentModificationException e) {
+            assertEquals(9, list.size());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCursorEdits() {
+        ListCursor<String> cursor = list.cursor();
+        assertTrue(!cursor.isValid());
+        cursor.insertAfter("2a"); // [2a]
+        cursor.insertBefore("0a"); // 0a [2a]
+        cursor.insertAfter("3a"); // 0a [2a] 3a
+        assertEquals("0a", cursor.previous()); // [0a] 2a 3a
+        cursor.insertAfter("1a"); // [0a] 1a 2a 3a
+        assertEquals("1a", cursor.next()); // 0a [1a] 2a 3a
+        assertEquals("1a", cursor.remove()); // 0a [2a] 3a
+        assertEquals("2a", cursor.get());
+
+        assertEquals(3, list.size());
+        assertArrayEquals(new Object[] {"0a", "2a", "3a"}, list.toArray());
+        assertEquals("0a", list.getHead().getData());
+        assertEquals("3a", list.getTail().getData());
+
+        cursor = list.cursor(2);
+        assertEquals("3a", cursor.remove()); // 0a [2a]
+        assertEquals("2a", list.getTail().getData());
+        assertNull(list.getTail().getNext());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testIndexedScanWithEdits() {
+        for (int x = 0; x < 10; x++) {
+            list.addToBack(x + "a");
+        }
+        assertEquals("7a", list.get(7));
+        assertEquals("6a", list.removeAtIndex(6)); // 0a ... 5a 7a 8a 9a
+        list.addAtIndex(2, "x"); // 0a 1a x 2a ... 5a 7a 8a 9a
+        assertEquals("7a", list.get(7));
+        assertEquals("x", list.get(2));
+        assertEquals("3a", list.get(4));
+
+        String[] expected = {"0a", "1a", "x", "2a", "3a", "4a", "5a", "7a",
+            "8a", "9a"};
+        for (int x = 0; x < expected.length; x++) {
+            assertEquals(expected[x], list.get(x));
+        }
+        assertEquals(expected.length, list.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testUnrolledList() {
+        UnrolledDoublyLinkedList<String> unrolled =
+            new UnrolledDoublyLinkedList<>(4);
+        String[] expectedItems = new String[10];
+        for (int x = 0; x < expectedItems.length; x++) {
+            expectedItems[x] = x + "a";
+            unrolled.addToBack(expectedItems[x]);
+        }
+        unrolled.addAtIndex(3, "0a"); // 0a 1a 2a 0a 3a ... 9a
+        assertEquals(3, unrolled.lastOccurrence("0a"));
+        assertEquals("0a", unrolled.removeAtIndex(3));
+        assertEquals(0, unrolled.lastOccurrence("0a"));
+        assertEquals(-1, unrolled.lastOccurrence("x"));
+
+        assertEquals(10, unrolled.size());
+        assertEquals("6a", unrolled.get(6));
+        assertArrayEquals(expectedItems, unrolled.toArray());
+
+        assertEquals("0a", unrolled.removeFromFront());
+        assertEquals("9a", unrolled.removeFromBack());
+        assertEquals(8, unrolled.size());
+        unrolled.clear();
+        assertTrue(unrolled.isEmpty());
+        assertNull(unrolled.removeFromBack());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testValueIndex() {
+        list.addToBack("0a");
+        list.addToBack("1a");
+        list.enableValueIndex();
+        list.addToBack("0a"); // 0a 1a 0a
+        list.cursor().insertAfter("2a"); // 0a 2a 1a 0a
+
+        assertTrue(list.contains("2a"));
+        assertEquals(3, list.lastOccurrence("0a"));
+        assertEquals(0, list.indexOf("0a"));
+        assertEquals(-1, list.lastOccurrence("9a"));
+
+        assertEquals("0a", list.removeFromBack()); // 0a 2a 1a
+        assertEquals(0, list.lastOccurrence("0a"));
+        assertEquals("0a", list.removeFromFront()); // 2a 1a
+        assertTrue(!list.contains("0a"));
+        assertEquals(-1, list.indexOf("0a"));
+
+        list.clear();
+        assertTrue(!list.contains("1a"));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPooledNodes() {
+        try {
+            new DoublyLinkedList<String>(-1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertNull(list.getHead());
+        }
+
+        list = new DoublyLinkedList<>(2);
+        list.addToBack("0a");
+        list.addToBack("1a");
+        list.addToBack("2a");
+        LinkedListNode<String> head = list.getHead();
+        assertEquals("0a", list.removeFromFront()); // 1a 2a
+        list.addToBack("3a"); // 1a 2a 3a
+        assertSame(head, list.getTail());
+        assertEquals("3a", head.getData());
+        assertEquals("2a", head.getPrevious().getData());
+        assertNull(head.getNext());
+
+        for (int round = 0; round < 3; round++) {
+            while (!list.isEmpty()) {
+                list.removeFromFront();
+            }
+            list.addToFront("1b");
+            list.addToFront("0b");
+            list.addAtIndex(2, "2b"); // 0b 1b 2b
+            assertEquals(3, list.size());
+            assertEquals("0b", list.getHead().getData());
+            assertEquals("1b", list.get(1));
+            assertEquals("2b", list.getTail().getData());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testUnrolledMiddleRemovals() {
+        UnrolledDoublyLinkedList<Integer> unrolled =
+            new UnrolledDoublyLinkedList<>(4);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            unrolled.addToBack(i);
+            expected.add(i);
+        }
+        // alternate between chunks so some merge and some borrow
+        for (int i = 0; i < 12; i++) {
+            int index = i % 2 == 0 ? 5 : unrolled.size() - 6;
+            assertEquals(expected.remove(index), unrolled.removeAtIndex(index));
+        }
+        assertArrayEquals(expected.toArray(), unrolled.toArray());
+        assertEquals((Integer) 19, unrolled.get(7));
+    }
 }
\ No newline at end of file
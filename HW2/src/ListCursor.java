@@ -0,0 +1,91 @@
+/**
+ * A cursor positioned on one element of a DoublyLinkedList that can move in
+ * both directions and edit the list around its position in O(1).
+ *
+ * Edits made through the cursor keep it valid. Any other structural change
+ * to the list invalidates it, and its next use throws a
+ * ConcurrentModificationException.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ * @param <T> the type of data in the list
+ */
+public interface ListCursor<T> {
+
+    /**
+     * Returns whether the cursor is on an element. This is only false when
+     * the list is empty.
+     *
+     * @return true if the cursor is on an element; false otherwise
+     */
+    boolean isValid();
+
+    /**
+     * Returns the element the cursor is on.
+     *
+     * @return the data at the cursor
+     * @throws java.util.NoSuchElementException if the list is empty
+     */
+    T get();
+
+    /**
+     * Returns whether there is an element after the cursor.
+     *
+     * @return true if {@code next} can be called; false otherwise
+     */
+    boolean hasNext();
+
+    /**
+     * Moves the cursor to the next element and returns it.
+     *
+     * @return the data of the next element
+     * @throws java.util.NoSuchElementException if the cursor is on the tail
+     */
+    T next();
+
+    /**
+     * Returns whether there is an element before the cursor.
+     *
+     * @return true if {@code previous} can be called; false otherwise
+     */
+    boolean hasPrevious();
+
+    /**
+     * Moves the cursor to the previous element and returns it.
+     *
+     * @return the data of the previous element
+     * @throws java.util.NoSuchElementException if the cursor is on the head
+     */
+    T previous();
+
+    /**
+     * Inserts the data just before the cursor without moving it. If the list
+     * is empty, the data becomes the only element and the cursor moves onto
+     * it.
+     *
+     * @param data the data to insert
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    void insertBefore(T data);
+
+    /**
+     * Inserts the data just after the cursor without moving it. If the list
+     * is empty, the data becomes the only element and the cursor moves onto
+     * it.
+     *
+     * @param data the data to insert
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    void insertAfter(T data);
+
+    /**
+     * Removes the element the cursor is on and moves the cursor to the next
+     * element, or to the previous one if the removed element was the tail.
+     *
+     * @return the data that was removed
+     * @throws java.util.NoSuchElementException if the list is empty
+     */
+    T remove();
+}
@@ -0,0 +1,542 @@
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Your implementation of an unrolled doubly linked list with a tail pointer.
+ *
+ * Each node holds a small array of up to {@code capacity} elements instead
+ * of a single element, so there is one pair of links and one object header
+ * per chunk of data rather than per element, and scans read contiguous
+ * memory. A full node is split in half when an element is inserted into
+ * it. A node that falls below half full is merged with a neighbor when
+ * both fit in one node, or else takes an element from its next node. This
+ * keeps every node other than the head and tail at least half full; the
+ * head and tail may hold as few as one element, since adding to either
+ * end of a full end node starts a new one.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class UnrolledDoublyLinkedList<T> implements Iterable<T> {
+
+    /**
+     * The default number of elements each node can hold.
+     */
+    public static final int DEFAULT_NODE_CAPACITY = 32;
+
+    private final int capacity;
+    private Chunk head;
+    private Chunk tail;
+    private int size;
+    private int modCount;
+
+    /**
+     * Constructs a new list whose nodes hold
+     * {@code DEFAULT_NODE_CAPACITY} elements.
+     */
+    public UnrolledDoublyLinkedList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * Constructs a new list whose nodes hold {@code capacity} elements.
+     *
+     * @param capacity the number of elements each node can hold
+     * @throws java.lang.IllegalArgumentException if capacity < 2
+     */
+    public UnrolledDoublyLinkedList(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2!");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds the element to the index specified.
+     *
+     * Adding to indices 0 and {@code size} should be O(1) (O(capacity) to
+     * shift within a node), all other cases are O(n / capacity).
+     *
+     * @param index the requested index for the new element
+     * @param data the data for the new element
+     * @throws java.lang.IndexOutOfBoundsException if index is negative or
+     * index > size
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addAtIndex(int index, T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        if (index > size || index < 0) {
+            throw new IndexOutOfBoundsException("index is out of bounds!");
+        }
+        if (index == size) {
+            addToBack(data);
+            return;
+        }
+        Position pos = locate(index);
+        Chunk c = pos.chunk;
+        int off = pos.offset;
+        if (c.count == capacity) {
+            Chunk split = linkAfter(c);
+            int half = capacity / 2;
+            System.arraycopy(c.items, half, split.items, 0, capacity - half);
+            Arrays.fill(c.items, half, capacity, null);
+            split.count = capacity - half;
+            c.count = half;
+            if (off > half) {
+                c = split;
+                off -= half;
+            }
+        }
+        insert(c, off, data);
+    }
+
+    /**
+     * Adds the element to the front of the list.
+     *
+     * Must be O(capacity) for all cases.
+     *
+     * @param data the data for the new element
+     * @throws java.lang.IllegalArgumentException if data is null.
+     */
+    public void addToFront(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        if (head == null || head.count == capacity) {
+            Chunk c = new Chunk(capacity);
+            c.next = head;
+            if (head == null) {
+                tail = c;
+            } else {
+                head.previous = c;
+            }
+            head = c;
+        }
+        insert(head, 0, data);
+    }
+
+    /**
+     * Adds the element to the back of the list.
+     *
+     * Must be O(1) for all cases.
+     *
+     * @param data the data for the new element
+     * @throws java.lang.IllegalArgumentException if data is null.
+     */
+    public void addToBack(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        if (tail == null) {
+            head = new Chunk(capacity);
+            tail = head;
+        } else if (tail.count == capacity) {
+            linkAfter(tail);
+        }
+        insert(tail, tail.count, data);
+    }
+
+    /**
+     * Removes and returns the element from the index specified.
+     *
+     * Removing from index 0 and {@code size - 1} should be O(capacity), all
+     * other cases are O(n / capacity).
+     *
+     * @param index the requested index to be removed
+     * @return the data formerly located at index
+     * @throws java.lang.IndexOutOfBoundsException if index is negative or
+     * index >= size
+     */
+    public T removeAtIndex(int index) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("index is out of bounds!");
+        }
+        Position pos = locate(index);
+        return remove(pos.chunk, pos.offset);
+    }
+
+    /**
+     * Removes and returns the element at the front of the list. If the list is
+     * empty, return {@code null}.
+     *
+     * Must be O(capacity) for all cases.
+     *
+     * @return the data formerly located at the front, null if empty list
+     */
+    public T removeFromFront() {
+        if (size == 0) {
+            return null;
+        }
+        return remove(head, 0);
+    }
+
+    /**
+     * Removes and returns the element at the back of the list. If the list is
+     * empty, return {@code null}.
+     *
+     * Must be O(1) for all cases.
+     *
+     * @return the data formerly located at the back, null if empty list
+     */
+    public T removeFromBack() {
+        if (size == 0) {
+            return null;
+        }
+        return remove(tail, tail.count - 1);
+    }
+
+    /**
+     * Returns the index of the last occurrence of the passed in data in the
+     * list or -1 if it is not in the list.
+     *
+     * Scans backward from the tail, so if data is in the tail, should be
+     * O(1). In all other cases, O(n).
+     *
+     * @param data the data to search for
+     * @throws java.lang.IllegalArgumentException if data is null
+     * @return the index of the last occurrence or -1 if not in the list
+     */
+    public int lastOccurrence(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        int end = size;
+        for (Chunk c = tail; c != null; c = c.previous) {
+            end -= c.count;
+            for (int i = c.count - 1; i >= 0; i--) {
+                if (data.equals(c.items[i])) {
+                    return end + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the element at the specified index.
+     *
+     * Getting the head and tail should be O(1), all other cases are
+     * O(n / capacity).
+     *
+     * @param index the index of the requested element
+     * @return the object stored at index
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or
+     * index >= size
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("index is out of bounds!");
+        }
+        Position pos = locate(index);
+        return (T) pos.chunk.items[pos.offset];
+    }
+
+    /**
+     * Returns an array representation of the linked list.
+     *
+     * Must be O(n) for all cases.
+     *
+     * @return an array of length {@code size} holding all of the objects in
+     * this list in the same order from head to tail
+     */
+    public Object[] toArray() {
+        Object[] arr = new Object[size];
+        int i = 0;
+        for (Chunk c = head; c != null; c = c.next) {
+            System.arraycopy(c.items, 0, arr, i, c.count);
+            i += c.count;
+        }
+        return arr;
+    }
+
+    /**
+     * Returns an iterator over the list from head to tail.
+     *
+     * The iterator is fail-fast: it throws a ConcurrentModificationException
+     * if the list is structurally modified after it was created.
+     *
+     * @return an iterator over the list
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Chunk curr = head;
+            private int i;
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return curr != null;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (curr == null) {
+                    throw new NoSuchElementException("no more elements!");
+                }
+                T data = (T) curr.items[i++];
+                if (i == curr.count) {
+                    curr = curr.next;
+                    i = 0;
+                }
+                return data;
+            }
+        };
+    }
+
+    /**
+     * Performs the action on every element from head to tail.
+     *
+     * Must be O(n) for all cases.
+     *
+     * @param action the action to perform
+     * @throws java.lang.IllegalArgumentException if action is null
+     * @throws java.util.ConcurrentModificationException if the action
+     * structurally modifies the list
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("action cannot be null!");
+        }
+        int expectedModCount = modCount;
+        for (Chunk c = head; c != null; c = c.next) {
+            for (int i = 0; i < c.count; i++) {
+                action.accept((T) c.items[i]);
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * Returns a SIZED spliterator over the list.
+     *
+     * @return a spliterator over the list
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size,
+            Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * Returns a boolean value indicating if the list is empty.
+     *
+     * Must be O(1) for all cases.
+     *
+     * @return true if empty; false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Clears the list of all data and resets the size.
+     *
+     * Must be O(1) for all cases.
+     */
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns the number of elements in the list.
+     *
+     * Runs in O(1) for all cases.
+     *
+     * @return the size of the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * helper method, finds the node holding index by walking from the
+     * closer end
+     * @param index the index to find, between 0 and size - 1
+     * @return the node holding index and the offset of index within it
+     */
+    private Position locate(int index) {
+        if (index < size / 2) {
+            Chunk c = head;
+            while (index >= c.count) {
+                index -= c.count;
+                c = c.next;
+            }
+            return new Position(c, index);
+        }
+        Chunk c = tail;
+        int start = size - c.count;
+        while (index < start) {
+            c = c.previous;
+            start -= c.count;
+        }
+        return new Position(c, index - start);
+    }
+
+    /**
+     * helper method, inserts data into a node that has room for it
+     * @param c the node to insert into
+     * @param off the offset within the node
+     * @param data the data to insert
+     */
+    private void insert(Chunk c, int off, T data) {
+        System.arraycopy(c.items, off, c.items, off + 1, c.count - off);
+        c.items[off] = data;
+        c.count++;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * helper method, removes the element at off from the node, unlinking
+     * the node if it becomes empty; a node left under half full is merged
+     * with a neighbor if both fit in one node, and otherwise, unless it is
+     * the head or tail, takes the first element of its next node
+     * @param c the node to remove from
+     * @param off the offset within the node
+     * @return the data removed
+     */
+    @SuppressWarnings("unchecked")
+    private T remove(Chunk c, int off) {
+        T data = (T) c.items[off];
+        System.arraycopy(c.items, off + 1, c.items, off, c.count - off - 1);
+        c.count--;
+        c.items[c.count] = null;
+        size--;
+        modCount++;
+        if (c.count == 0) {
+            unlink(c);
+        } else if (c.count < capacity / 2) {
+            if (c.next != null && c.count + c.next.count <= capacity) {
+                merge(c, c.next);
+            } else if (c.previous != null
+                    && c.previous.count + c.count <= capacity) {
+                merge(c.previous, c);
+            } else if (c.previous != null && c.next != null) {
+                borrow(c, c.next);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * helper method, moves the first element of a node to the end of its
+     * previous node; from must hold more than capacity - into.count
+     * elements, so it stays at least half full
+     * @param into the node under half full
+     * @param from the node after it
+     */
+    private void borrow(Chunk into, Chunk from) {
+        into.items[into.count++] = from.items[0];
+        System.arraycopy(from.items, 1, from.items, 0, from.count - 1);
+        from.count--;
+        from.items[from.count] = null;
+    }
+
+    /**
+     * helper method, moves all elements of a node into its previous node and
+     * unlinks it
+     * @param into the node to keep
+     * @param from the node after it to empty and unlink
+     */
+    private void merge(Chunk into, Chunk from) {
+        System.arraycopy(from.items, 0, into.items, into.count, from.count);
+        into.count += from.count;
+        unlink(from);
+    }
+
+    /**
+     * helper method, links a new empty node after c
+     * @param c the node to link after
+     * @return the new node
+     */
+    private Chunk linkAfter(Chunk c) {
+        Chunk n = new Chunk(capacity);
+        n.previous = c;
+        n.next = c.next;
+        if (c.next == null) {
+            tail = n;
+        } else {
+            c.next.previous = n;
+        }
+        c.next = n;
+        return n;
+    }
+
+    /**
+     * helper method, unlinks a node from the chain
+     * @param c the node to unlink
+     */
+    private void unlink(Chunk c) {
+        if (c.previous == null) {
+            head = c.next;
+        } else {
+            c.previous.next = c.next;
+        }
+        if (c.next == null) {
+            tail = c.previous;
+        } else {
+            c.next.previous = c.previous;
+        }
+    }
+
+    /**
+     * A node of the unrolled list holding up to {@code capacity} elements
+     * in {@code items[0, count)}.
+     */
+    private static final class Chunk {
+        private final Object[] items;
+        private int count;
+        private Chunk previous;
+        private Chunk next;
+
+        /**
+         * Creates an empty node.
+         *
+         * @param capacity the number of elements the node can hold
+         */
+        Chunk(int capacity) {
+            items = new Object[capacity];
+        }
+    }
+
+    /**
+     * A node of the list and an offset into it, as found by locate.
+     */
+    private static final class Position {
+        private final Chunk chunk;
+        private final int offset;
+
+        /**
+         * Creates a position.
+         *
+         * @param chunk the node
+         * @param offset the offset within the node
+         */
+        Position(Chunk chunk, int offset) {
+            this.chunk = chunk;
+            this.offset = offset;
+        }
+    }
+}
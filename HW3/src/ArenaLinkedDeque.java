@@ -0,0 +1,194 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Your implementation of a linked deque whose nodes live in an arena.
+ *
+ * Instead of one LinkedNode object per element, node {@code i} is the slot
+ * {@code i} of three parallel arrays holding its data and the indices of
+ * its previous and next nodes, with {@code NIL} standing in for null.
+ * Removed slots go on a free list that is threaded through {@code next},
+ * so once the arena has grown to the largest size the deque reaches, adds
+ * and removes do not allocate at all.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class ArenaLinkedDeque<T> {
+
+    /**
+     * The initial number of node slots in the arena.
+     */
+    public static final int INITIAL_CAPACITY = 11;
+
+    private static final int NIL = -1;
+
+    private Object[] data;
+    private int[] previous;
+    private int[] next;
+    private int head;
+    private int tail;
+    private int free;
+    private int used;
+    private int size;
+
+    /**
+     * Constructs a new, empty ArenaLinkedDeque with room for
+     * {@code INITIAL_CAPACITY} nodes.
+     */
+    public ArenaLinkedDeque() {
+        data = new Object[INITIAL_CAPACITY];
+        previous = new int[INITIAL_CAPACITY];
+        next = new int[INITIAL_CAPACITY];
+        head = NIL;
+        tail = NIL;
+        free = NIL;
+    }
+
+    /**
+     * Adds the data to the front of the deque.
+     *
+     * This method must run in amortized O(1) time, and O(1) without
+     * allocating once the arena is large enough.
+     *
+     * @param data the data to add to the deque
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addFirst(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        int node = allocate(data);
+        previous[node] = NIL;
+        next[node] = head;
+        if (head == NIL) {
+            tail = node;
+        } else {
+            previous[head] = node;
+        }
+        head = node;
+        size++;
+    }
+
+    /**
+     * Adds the data to the back of the deque.
+     *
+     * This method must run in amortized O(1) time, and O(1) without
+     * allocating once the arena is large enough.
+     *
+     * @param data the data to add to the deque
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addLast(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        int node = allocate(data);
+        previous[node] = tail;
+        next[node] = NIL;
+        if (tail == NIL) {
+            head = node;
+        } else {
+            next[tail] = node;
+        }
+        tail = node;
+        size++;
+    }
+
+    /**
+     * Removes the data at the front of the deque.
+     *
+     * This method must run in O(1) time.
+     *
+     * @return the data formerly at the front of the deque
+     * @throws java.util.NoSuchElementException if the deque is empty
+     */
+    public T removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("deque is empty!");
+        }
+        int node = head;
+        head = next[node];
+        if (head == NIL) {
+            tail = NIL;
+        } else {
+            previous[head] = NIL;
+        }
+        size--;
+        return release(node);
+    }
+
+    /**
+     * Removes the data at the back of the deque.
+     *
+     * This method must run in O(1) time.
+     *
+     * @return the data formerly at the back of the deque
+     * @throws java.util.NoSuchElementException if the deque is empty
+     */
+    public T removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException("deque is empty!");
+        }
+        int node = tail;
+        tail = previous[node];
+        if (tail == NIL) {
+            head = NIL;
+        } else {
+            next[tail] = NIL;
+        }
+        size--;
+        return release(node);
+    }
+
+    /**
+     * helper method, takes a slot from the free list, or the next unused
+     * slot, doubling the arena if it is full
+     * @param d the data to store in the slot
+     * @return the index of the slot
+     */
+    private int allocate(T d) {
+        int node;
+        if (free != NIL) {
+            node = free;
+            free = next[node];
+        } else {
+            if (used == data.length) {
+                int capacity = 2 * data.length;
+                data = Arrays.copyOf(data, capacity);
+                previous = Arrays.copyOf(previous, capacity);
+                next = Arrays.copyOf(next, capacity);
+            }
+            node = used++;
+        }
+        data[node] = d;
+        return node;
+    }
+
+    /**
+     * helper method, clears a slot and pushes it onto the free list
+     * @param node the index of the slot
+     * @return the data the slot held
+     */
+    @SuppressWarnings("unchecked")
+    private T release(int node) {
+        T d = (T) data[node];
+        data[node] = null;
+        next[node] = free;
+        free = node;
+        return d;
+    }
+
+    /**
+     * Returns the number of elements in the deque.
+     *
+     * Runs in O(1) for all cases.
+     *
+     * @return the size of the deque
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -1,4 +1,5 @@
 import java.util.NoSuchElementException;
+import java.util.function.LongConsumer;
 
 /**
  * Your implementation of an array deque.
@@ -15,19 +16,42 @@ public class ArrayDeque<T> {
      */
     public static final int INITIAL_CAPACITY = 11;
 
-    // Do not add new instance variables.
+    /**
+     * The initial capacity of an ArrayDeque in power of two mode.
+     */
+    public static final int POWER_OF_TWO_CAPACITY = 16;
+
     private T[] backingArray;
     private int front;
     private int back;
     private int size;
+    private final boolean powerOfTwo;
+    private double minOccupancy;
+    private LongConsumer reclaimListener;
 
     /**
      * Constructs a new ArrayDeque with an initial capacity of
      * the {@code INITIAL_CAPACITY} constant above.
      */
-    @SuppressWarnings("unchecked")
     public ArrayDeque() {
-        backingArray = (T[]) new Object[INITIAL_CAPACITY];
+        this(false);
+    }
+
+    /**
+     * Constructs a new ArrayDeque.
+     *
+     * If {@code powerOfTwo} is true, the deque starts with a capacity of
+     * {@code POWER_OF_TWO_CAPACITY} and, since it only ever doubles, the
+     * capacity stays a power of two. Wrapping an index around the backing
+     * array is then a bit mask instead of a remainder.
+     *
+     * @param powerOfTwo whether to keep the capacity a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public ArrayDeque(boolean powerOfTwo) {
+        this.powerOfTwo = powerOfTwo;
+        backingArray = (T[]) new Object[powerOfTwo
+            ? POWER_OF_TWO_CAPACITY : INITIAL_CAPACITY];
         front = 0;
         back = 0;
         size = 0;
@@ -53,24 +77,10 @@ public class ArrayDeque<T> {
             throw new IllegalArgumentException("data cannot be null!");
         }
         if (size == backingArray.length) {
-            @SuppressWarnings("unchecked")
-            T[] temp = (T[]) new Object[(size * 2)];
-            temp[0] = data;
-            for (int i = 0; i < backingArray.length; i++) {
-                T e = backingArray[mod(front + i, backingArray.length)];
-                temp[i + 1] = e;
-            }
-            backingArray = temp;
-            front = 0;
-            back = size;
-            back++;
-        }  else {
-            if (front == 0) {
-                front = backingArray.length;
-            }
-            backingArray[mod(front - 1, backingArray.length)] = data;
-            front--;
+            regrow(1);
         }
+        front = wrap(front - 1);
+        backingArray[front] = data;
         size++;
     }
 
@@ -93,27 +103,18 @@ public class ArrayDeque<T> {
             throw new IllegalArgumentException("data cannot be null!");
         }
         if (size == backingArray.length) {
-            @SuppressWarnings("unchecked")
-            T[] temp = (T[]) new Object[(size * 2)];
-            for (int i = 0; i < backingArray.length; i++) {
-                T e = backingArray[mod(front + i, backingArray.length)];
-                temp[i] = e;
-            }
-            temp[backingArray.length] = data;
-            backingArray = temp;
-            front = 0;
-            back = size;
-        } else {
-            backingArray[mod(back, backingArray.length)] = data;
+            regrow(0);
         }
-        back++;
+        backingArray[back] = data;
+        back = wrap(back + 1);
         size++;
     }
 
     /**
      * Removes the data at the front of the deque.
      *
-     * Do not shrink the backing array.
+     * The backing array is only shrunk if a shrink policy was set with
+     * {@code setShrinkPolicy}.
      *
      * If the deque becomes empty as a result of this call, you should
      * explicitly reset front and back to the beginning of the array.
@@ -121,7 +122,8 @@ public class ArrayDeque<T> {
      * You should replace any spots that you remove from with null. Failure to
      * do so will result in a major loss of points.
      *
-     * This method must run in O(1) time.
+     * This method must run in amortized O(1) time. A removal that shrinks
+     * the backing array copies the deque to the new array in O(n).
      *
      * @return the data formerly at the front of the deque
      * @throws java.util.NoSuchElementException if the deque is empty
@@ -130,22 +132,24 @@ public class ArrayDeque<T> {
         if (size == 0) {
             throw new NoSuchElementException("The queue is empty.");
         }
-        T arr = backingArray[mod(front, backingArray.length)];
-        backingArray[mod(front, backingArray.length)] = null;
+        T arr = backingArray[front];
+        backingArray[front] = null;
         size--;
         if (size == 0) {
             front = 0;
             back = 0;
         } else {
-            front++;
+            front = wrap(front + 1);
         }
+        shrinkIfSparse();
         return arr;
     }
 
     /**
      * Removes the data at the back of the deque.
      *
-     * Do not shrink the backing array.
+     * The backing array is only shrunk if a shrink policy was set with
+     * {@code setShrinkPolicy}.
      *
      * If the deque becomes empty as a result of this call, you should
      * explicitly reset front and back to the beginning of the array.
@@ -153,7 +157,8 @@ public class ArrayDeque<T> {
      * You should replace any spots that you remove from with null. Failure to
      * do so will result in a major loss of points.
      *
-     * This method must run in O(1) time.
+     * This method must run in amortized O(1) time. A removal that shrinks
+     * the backing array copies the deque to the new array in O(n).
      *
      * @return the data formerly at the back of the deque
      * @throws java.util.NoSuchElementException if the deque is empty
@@ -162,21 +167,141 @@ public class ArrayDeque<T> {
         if (size == 0) {
             throw new NoSuchElementException("The queue is empty.");
         }
-        if (back == 0) {
-            back = backingArray.length;
-        }
-        T arr = backingArray[mod(back - 1, backingArray.length)];
-        backingArray[mod(back - 1, backingArray.length)] = null;
+        back = wrap(back - 1);
+        T arr = backingArray[back];
+        backingArray[back] = null;
         size--;
         if (size == 0) {
             front = 0;
             back = 0;
-        } else {
-            back--;
         }
+        shrinkIfSparse();
         return arr;
     }
 
+    /**
+     * Sets the hysteresis shrink policy: after a remove leaves fewer than
+     * {@code minOccupancy * capacity} elements, the backing array is halved,
+     * but never below its initial capacity. A policy of 0 (the default)
+     * never shrinks.
+     *
+     * The deque regrows only once its array is full, and a halved array
+     * holds fewer than {@code 2 * minOccupancy} of its new capacity, so at
+     * least {@code (0.5 - minOccupancy) * capacity} adds separate a shrink
+     * from the next regrow, where capacity is the size before halving. That
+     * keeps adds and removes amortized O(1), with a constant that grows as
+     * minOccupancy approaches 0.5: 0.25 leaves a quarter of the old
+     * capacity in adds before a regrow, 0.45 only a twentieth.
+     *
+     * @param minOccupancy the fraction of the capacity below which to shrink
+     * @throws java.lang.IllegalArgumentException if minOccupancy is not in
+     * [0, 0.5)
+     */
+    public void setShrinkPolicy(double minOccupancy) {
+        if (!(minOccupancy >= 0 && minOccupancy < 0.5)) {
+            throw new IllegalArgumentException(
+                "minOccupancy must be in [0, 0.5)!");
+        }
+        this.minOccupancy = minOccupancy;
+    }
+
+    /**
+     * Sets the listener told how many backing array slots each shrink or
+     * compact freed, or removes it if {@code reclaimListener} is null. A
+     * slot is one reference, so the bytes freed are the slots times the
+     * JVM's reference size: 4 bytes with compressed references, the
+     * default for heaps under about 32 GB, and 8 bytes otherwise.
+     *
+     * @param reclaimListener the listener to notify
+     */
+    public void setReclaimListener(LongConsumer reclaimListener) {
+        this.reclaimListener = reclaimListener;
+    }
+
+    /**
+     * Shrinks the backing array to the smallest capacity that holds the
+     * deque, never below the initial capacity, and in power of two mode to
+     * a power of two. The elements are moved to the beginning of the array.
+     *
+     * This method must run in O(n) time.
+     */
+    public void compact() {
+        int capacity = minCapacity();
+        if (powerOfTwo) {
+            while (capacity < size) {
+                capacity *= 2;
+            }
+        } else {
+            capacity = Math.max(capacity, size);
+        }
+        if (capacity < backingArray.length) {
+            resize(capacity, 0);
+        }
+    }
+
+    /**
+     * helper method, halves the backing array if the shrink policy says the
+     * deque has become too sparse
+     */
+    private void shrinkIfSparse() {
+        int half = backingArray.length / 2;
+        if (size < backingArray.length * minOccupancy
+                && half >= minCapacity()) {
+            resize(half, 0);
+        }
+    }
+
+    /**
+     * helper method, the capacity the deque started with
+     * @return the initial capacity for this mode
+     */
+    private int minCapacity() {
+        return powerOfTwo ? POWER_OF_TWO_CAPACITY : INITIAL_CAPACITY;
+    }
+
+    /**
+     * helper method, wraps an index around the backing array
+     * @param index the index to wrap
+     * @return the index within the backing array
+     */
+    private int wrap(int index) {
+        if (powerOfTwo) {
+            return index & (backingArray.length - 1);
+        }
+        return mod(index, backingArray.length);
+    }
+
+    /**
+     * helper method, doubles the backing array, copying the deque to the new
+     * array starting at {@code offset}
+     * @param offset the index in the new array of the front element
+     */
+    private void regrow(int offset) {
+        resize(backingArray.length * 2, offset);
+    }
+
+    /**
+     * helper method, replaces the backing array with one of the given
+     * capacity, copying the two wrapped segments of the deque to it starting
+     * at {@code offset}, and reports any slots freed
+     * @param capacity the capacity of the new array, at least size + offset
+     * @param offset the index in the new array of the front element
+     */
+    private void resize(int capacity, int offset) {
+        int oldCapacity = backingArray.length;
+        @SuppressWarnings("unchecked")
+        T[] temp = (T[]) new Object[capacity];
+        int first = Math.min(size, oldCapacity - front);
+        System.arraycopy(backingArray, front, temp, offset, first);
+        System.arraycopy(backingArray, 0, temp, offset + first, size - first);
+        backingArray = temp;
+        front = offset;
+        back = wrap(offset + size);
+        if (capacity < oldCapacity && reclaimListener != null) {
+            reclaimListener.accept(oldCapacity - capacity);
+        }
+    }
+
     /**
      * Returns the smallest non-negative remainder when dividing {@code index}
      * by {@code modulo}. So, for example, if modulo is 5, then this method will
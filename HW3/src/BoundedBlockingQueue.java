@@ -0,0 +1,304 @@
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Your implementation of a bounded blocking queue on top of a deque.
+ *
+ * Elements are added at the back and removed from the front of an
+ * ArrayDeque or LinkedDeque. Every operation holds one ReentrantLock;
+ * {@code put} waits on the notFull condition while the queue is at
+ * capacity and {@code take} waits on notEmpty while it is empty. Waiting
+ * on a Condition parks the thread instead of holding a monitor, so a
+ * blocked virtual thread releases its carrier thread.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class BoundedBlockingQueue<T> {
+
+    private final Consumer<T> addLast;
+    private final Supplier<T> removeFirst;
+    private final IntSupplier size;
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * Constructs a new, empty BoundedBlockingQueue backed by an ArrayDeque.
+     *
+     * @param capacity the largest number of elements the queue can hold
+     * @throws java.lang.IllegalArgumentException if capacity < 1
+     */
+    public BoundedBlockingQueue(int capacity) {
+        this(new ArrayDeque<>(), capacity);
+    }
+
+    /**
+     * Constructs a new BoundedBlockingQueue backed by the given ArrayDeque.
+     * The deque must not be used directly afterwards.
+     *
+     * @param deque the deque to store the elements in
+     * @param capacity the largest number of elements the queue can hold
+     * @throws java.lang.IllegalArgumentException if deque is null or
+     * capacity < 1
+     */
+    public BoundedBlockingQueue(ArrayDeque<T> deque, int capacity) {
+        this(checkDeque(deque)::addLast, deque::removeFirst,
+            deque::size, capacity);
+    }
+
+    /**
+     * Constructs a new BoundedBlockingQueue backed by the given LinkedDeque.
+     * The deque must not be used directly afterwards.
+     *
+     * @param deque the deque to store the elements in
+     * @param capacity the largest number of elements the queue can hold
+     * @throws java.lang.IllegalArgumentException if deque is null or
+     * capacity < 1
+     */
+    public BoundedBlockingQueue(LinkedDeque<T> deque, int capacity) {
+        this(checkDeque(deque)::addLast, deque::removeFirst,
+            deque::size, capacity);
+    }
+
+    /**
+     * helper constructor, wires the queue to the deque's operations
+     * @param addLast adds an element to the back of the deque
+     * @param removeFirst removes the element at the front of the deque
+     * @param size returns the size of the deque
+     * @param capacity the largest number of elements the queue can hold
+     */
+    private BoundedBlockingQueue(Consumer<T> addLast, Supplier<T> removeFirst,
+                                 IntSupplier size, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive!");
+        }
+        this.addLast = addLast;
+        this.removeFirst = removeFirst;
+        this.size = size;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds the data to the back of the queue, waiting for room if the queue
+     * is full.
+     *
+     * @param data the data to add to the queue
+     * @throws java.lang.IllegalArgumentException if data is null
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    public void put(T data) throws InterruptedException {
+        checkData(data);
+        lock.lockInterruptibly();
+        try {
+            while (size.getAsInt() >= capacity) {
+                notFull.await();
+            }
+            enqueue(data);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the data to the back of the queue if there is room.
+     *
+     * @param data the data to add to the queue
+     * @return true if the data was added; false if the queue is full
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public boolean offer(T data) {
+        checkData(data);
+        lock.lock();
+        try {
+            if (size.getAsInt() >= capacity) {
+                return false;
+            }
+            enqueue(data);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the data to the back of the queue, waiting up to the given time
+     * for room if the queue is full.
+     *
+     * @param data the data to add to the queue
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of timeout
+     * @return true if the data was added; false if the time ran out
+     * @throws java.lang.IllegalArgumentException if data or unit is null
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    public boolean offer(T data, long timeout, TimeUnit unit)
+        throws InterruptedException {
+        checkData(data);
+        long nanos = toNanos(timeout, unit);
+        lock.lockInterruptibly();
+        try {
+            while (size.getAsInt() >= capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            enqueue(data);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the data at the front of the queue, waiting for an element if
+     * the queue is empty.
+     *
+     * @return the data formerly at the front of the queue
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    public T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size.getAsInt() == 0) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the data at the front of the queue if there is any.
+     *
+     * @return the data formerly at the front, or null if the queue is empty
+     */
+    public T poll() {
+        lock.lock();
+        try {
+            return size.getAsInt() == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the data at the front of the queue, waiting up to the given
+     * time for an element if the queue is empty.
+     *
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of timeout
+     * @return the data formerly at the front, or null if the time ran out
+     * @throws java.lang.IllegalArgumentException if unit is null
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = toNanos(timeout, unit);
+        lock.lockInterruptibly();
+        try {
+            while (size.getAsInt() == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     *
+     * Runs in O(1) for all cases.
+     *
+     * @return the number of elements in the queue
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return size.getAsInt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns how many more elements the queue can hold, 0 if a deque
+     * passed to the constructor already held capacity elements or more.
+     *
+     * Runs in O(1) for all cases.
+     *
+     * @return the remaining capacity of the queue
+     */
+    public int remainingCapacity() {
+        return Math.max(capacity - size(), 0);
+    }
+
+    /**
+     * helper method, adds to the deque and wakes a waiting consumer; the
+     * lock must be held
+     * @param data the data to add
+     */
+    private void enqueue(T data) {
+        addLast.accept(data);
+        notEmpty.signal();
+    }
+
+    /**
+     * helper method, removes from the deque and wakes a waiting producer;
+     * the lock must be held
+     * @return the data removed
+     */
+    private T dequeue() {
+        T data = removeFirst.get();
+        notFull.signal();
+        return data;
+    }
+
+    /**
+     * helper method, checks the data to add
+     * @param data the data to add
+     */
+    private static void checkData(Object data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+    }
+
+    /**
+     * helper method, checks the deque passed to a constructor
+     * @param deque the deque to check
+     * @param <D> the type of the deque
+     * @return the deque
+     */
+    private static <D> D checkDeque(D deque) {
+        if (deque == null) {
+            throw new IllegalArgumentException("deque cannot be null!");
+        }
+        return deque;
+    }
+
+    /**
+     * helper method, converts a timeout to nanoseconds
+     * @param timeout how long to wait
+     * @param unit the unit of timeout
+     * @return the timeout in nanoseconds
+     */
+    private static long toNanos(long timeout, TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("unit cannot be null!");
+        }
+        return unit.toNanos(timeout);
+    }
+}
@@ -1,6 +1,15 @@
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
@@ -152,4 +161,295 @@ public class DequeStudentTests {
         assertEquals(linked.getTail(), node);
         assertEquals(null, node.getNext());
     }
+
+    @Test(timeout = TIMEOUT)
+    public void testLinkedDequePooledDrain() {
+        linked = new LinkedDeque<>(2);
+        for (int round = 0; round < 3; round++) {
+            linked.addLast(1);
+            linked.addFirst(0);
+            linked.addLast(2);
+
+            assertEquals((Integer) 0, linked.removeFirst());
+            assertEquals((Integer) 2, linked.removeLast());
+            assertEquals((Integer) 1, linked.removeFirst());
+            assertEquals(0, linked.size());
+            assertEquals(null, linked.getHead());
+            assertEquals(null, linked.getTail());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testArenaLinkedDeque() {
+        ArenaLinkedDeque<Integer> arena = new ArenaLinkedDeque<>();
+        for (int i = 0; i < 20; i++) {
+            arena.addLast(i);
+            arena.addFirst(-i);
+        }
+        assertEquals(40, arena.size());
+        for (int i = 19; i >= 0; i--) {
+            assertEquals(Integer.valueOf(-i), arena.removeFirst());
+            assertEquals(Integer.valueOf(i), arena.removeLast());
+        }
+        assertEquals(0, arena.size());
+
+        arena.addFirst(5);
+        arena.addLast(6);
+        assertEquals((Integer) 6, arena.removeLast());
+        assertEquals((Integer) 5, arena.removeLast());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testArrayDequePowerOfTwoRegrow() {
+        array = new ArrayDeque<>(true);
+        for (int i = 0; i < 8; i++) {
+            array.addLast(i);
+        }
+        for (int i = 0; i < 6; i++) {
+            array.removeFirst();
+        }
+        for (int i = 8; i < 22; i++) {
+            array.addLast(i); // wraps around, 6..21 fills all 16 slots
+        }
+        array.addFirst(5); // regrow: 5 6 ... 21
+
+        assertEquals(17, array.size());
+        Object[] expected = new Object[ArrayDeque.POWER_OF_TWO_CAPACITY * 2];
+        for (int i = 0; i < 17; i++) {
+            expected[i] = i + 5;
+        }
+        assertArrayEquals(expected, array.getBackingArray());
+        assertEquals((Integer) 21, array.removeLast());
+        assertEquals((Integer) 5, array.removeFirst());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSpscRingBufferSingleThread() {
+        SpscRingBuffer<Integer> ring = new SpscRingBuffer<>(3);
+        assertEquals(4, ring.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(true, ring.offer(i));
+        }
+        assertEquals(false, ring.offer(4));
+        assertEquals((Integer) 0, ring.poll());
+        assertEquals(true, ring.offer(4)); // wraps around
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(3, ring.drainTo(drained, 3));
+        assertEquals(Arrays.asList(1, 2, 3), drained);
+        assertEquals(1, ring.size());
+        assertEquals((Integer) 4, ring.poll());
+        assertEquals(null, ring.poll());
+    }
+
+    @Test(timeout = 5000)
+    public void testSpscRingBufferHandoff() throws InterruptedException {
+        SpscRingBuffer<Integer> ring = new SpscRingBuffer<>(64);
+        int count = 200000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                while (!ring.offer(i)) {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+        for (int i = 0; i < count; i++) {
+            Integer data;
+            while ((data = ring.poll()) == null) {
+                Thread.yield();
+            }
+            assertEquals(i, data.intValue());
+        }
+        producer.join();
+        assertEquals(0, ring.size());
+    }
+
+    @Test(timeout = 10000)
+    public void testLockFreeLinkedQueueStress() throws InterruptedException {
+        LockFreeLinkedQueue<Long> queue = new LockFreeLinkedQueue<>();
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 50000;
+        long[][] lastSeen = new long[consumers][producers];
+        AtomicInteger taken = new AtomicInteger();
+        AtomicLong sum = new AtomicLong();
+        AtomicBoolean ordered = new AtomicBoolean(true);
+        Thread[] threads = new Thread[producers + consumers];
+        for (int p = 0; p < producers; p++) {
+            long id = p;
+            threads[p] = new Thread(() -> {
+                for (long i = 1; i <= perProducer; i++) {
+                    queue.addLast(i * producers + id);
+                }
+            });
+        }
+        for (int c = 0; c < consumers; c++) {
+            long[] seen = lastSeen[c];
+            threads[producers + c] = new Thread(() -> {
+                while (taken.get() < producers * perProducer) {
+                    Long data = queue.poll();
+                    if (data != null) {
+                        taken.incrementAndGet();
+                        sum.addAndGet(data);
+                        // each consumer sees a producer's items in order
+                        int id = (int) (data % producers);
+                        if (data <= seen[id]) {
+                            ordered.set(false);
+                        }
+                        seen[id] = data;
+                    }
+                }
+            });
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        long expected = 0;
+        for (long i = 1; i <= perProducer; i++) {
+            for (int p = 0; p < producers; p++) {
+                expected += i * producers + p;
+            }
+        }
+        assertEquals(expected, sum.get());
+        assertEquals(true, ordered.get());
+        assertEquals(true, queue.isEmpty());
+        assertEquals(null, queue.poll());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testWorkStealingDequeOwnerOnly() {
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>();
+        for (int i = 0; i < 40; i++) {
+            deque.pushBottom(i);
+        }
+        assertEquals(40, deque.size());
+        assertEquals((Integer) 39, deque.popBottom());
+        assertEquals((Integer) 0, deque.steal());
+        assertEquals((Integer) 1, deque.steal());
+        for (int i = 38; i >= 2; i--) {
+            assertEquals(Integer.valueOf(i), deque.popBottom());
+        }
+        assertEquals(null, deque.popBottom());
+        assertEquals(null, deque.steal());
+    }
+
+    @Test(timeout = 10000)
+    public void testWorkStealingDequeThieves() throws InterruptedException {
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>();
+        int count = 200000;
+        AtomicIntegerArray seen = new AtomicIntegerArray(count);
+        AtomicBoolean done = new AtomicBoolean();
+        Thread[] thieves = new Thread[3];
+        for (int i = 0; i < thieves.length; i++) {
+            thieves[i] = new Thread(() -> {
+                while (!done.get() || !deque.isEmpty()) {
+                    Integer data = deque.steal();
+                    if (data != null) {
+                        seen.incrementAndGet(data);
+                    }
+                }
+            });
+            thieves[i].start();
+        }
+        for (int i = 0; i < count; i++) {
+            deque.pushBottom(i);
+            if (i % 3 == 0) {
+                Integer data = deque.popBottom();
+                if (data != null) {
+                    seen.incrementAndGet(data);
+                }
+            }
+        }
+        done.set(true);
+        for (Thread t : thieves) {
+            t.join();
+        }
+        for (int i = 0; i < count; i++) {
+            assertEquals(1, seen.get(i));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testArrayDequeShrinkAndCompact() {
+        long[] freed = new long[1];
+        array = new ArrayDeque<>(true);
+        array.setShrinkPolicy(0.25);
+        array.setReclaimListener(slots -> freed[0] += slots);
+        for (int i = 0; i < 64; i++) {
+            array.addLast(i);
+        }
+        Object[] backing = array.getBackingArray();
+        assertEquals(64, backing.length);
+        for (int i = 0; i < 60; i++) {
+            assertEquals(Integer.valueOf(i), array.removeFirst());
+        }
+        backing = array.getBackingArray();
+        assertEquals(16, backing.length);
+        assertEquals(48, freed[0]);
+        assertEquals((Integer) 63, array.removeLast());
+
+        array = new ArrayDeque<>();
+        for (int i = 0; i < 30; i++) {
+            array.addFirst(i);
+        }
+        array.removeLast();
+        array.compact();
+        backing = array.getBackingArray();
+        assertEquals(29, backing.length);
+        assertEquals((Integer) 29, array.removeFirst());
+        assertEquals((Integer) 1, array.removeLast());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testBoundedBlockingQueue() throws InterruptedException {
+        BoundedBlockingQueue<Integer> queue =
+            new BoundedBlockingQueue<>(new LinkedDeque<>(), 2);
+        assertEquals(null, queue.poll(1, TimeUnit.MILLISECONDS));
+        queue.put(1);
+        assertEquals(true, queue.offer(2));
+        assertEquals(false, queue.offer(3));
+        assertEquals(false, queue.offer(3, 1, TimeUnit.MILLISECONDS));
+        assertEquals(0, queue.remainingCapacity());
+
+        List<Integer> taken = new ArrayList<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                for (int i = 1; i <= 50; i++) {
+                    taken.add(queue.take());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        for (int i = 3; i <= 50; i++) {
+            queue.put(i);
+        }
+        consumer.join();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, taken);
+        assertEquals(0, queue.size());
+
+        ArrayDeque<Integer> full = new ArrayDeque<>();
+        for (int i = 0; i < 3; i++) {
+            full.addLast(i);
+        }
+        BoundedBlockingQueue<Integer> over =
+            new BoundedBlockingQueue<>(full, 2);
+        assertEquals(false, over.offer(3));
+        assertEquals(false, over.offer(3, 1, TimeUnit.MILLISECONDS));
+        assertEquals(0, over.remainingCapacity());
+        assertEquals((Integer) 0, over.take());
+        assertEquals(false, over.offer(3));
+        assertEquals((Integer) 1, over.poll());
+        assertEquals(true, over.offer(3));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,181 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+
+/**
+ * Your implementation of a lock-free, multi-producer/multi-consumer linked
+ * queue (Michael and Scott, 1996).
+ *
+ * This is the thread-safe counterpart of LinkedDeque's addLast and
+ * removeFirst. The list always starts with a dummy node. A producer links
+ * its node after the last node with a compare-and-set on that node's
+ * {@code next}, then swings {@code tail} forward. A consumer removes by
+ * swinging {@code head} to the first real node, which becomes the new
+ * dummy. A thread that finds {@code tail} lagging behind helps advance it,
+ * so no thread ever waits on another.
+ *
+ * Nodes are never reused; an unlinked node is reclaimed by the garbage
+ * collector only once no thread can still reach it, so the ABA and
+ * use-after-free problems of manual node reuse cannot occur.
+ *
+ * LinkedDeque remains the faster choice for single-threaded use.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class LockFreeLinkedQueue<T> {
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(LockFreeLinkedQueue.class, "head",
+                Node.class);
+            TAIL = lookup.findVarHandle(LockFreeLinkedQueue.class, "tail",
+                Node.class);
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile Node<T> head;
+    private volatile Node<T> tail;
+
+    /**
+     * Constructs a new, empty LockFreeLinkedQueue.
+     */
+    public LockFreeLinkedQueue() {
+        Node<T> dummy = new Node<>(null);
+        head = dummy;
+        tail = dummy;
+    }
+
+    /**
+     * Adds the data to the back of the queue. Safe to call from any number
+     * of threads.
+     *
+     * This method is lock-free and runs in O(1) time in the absence of
+     * contention.
+     *
+     * @param data the data to add to the queue
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addLast(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        Node<T> node = new Node<>(data);
+        while (true) {
+            Node<T> last = tail;
+            Node<T> next = last.next;
+            if (last == tail) {
+                if (next == null) {
+                    if (NEXT.compareAndSet(last, null, node)) {
+                        TAIL.compareAndSet(this, last, node);
+                        return;
+                    }
+                } else {
+                    TAIL.compareAndSet(this, last, next);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the data at the front of the queue, or returns
+     * null if the queue is empty. Safe to call from any number of threads.
+     *
+     * This method is lock-free and runs in O(1) time in the absence of
+     * contention.
+     *
+     * @return the data formerly at the front, or null if the queue is empty
+     */
+    public T poll() {
+        while (true) {
+            Node<T> first = head;
+            Node<T> last = tail;
+            Node<T> next = first.next;
+            if (first == head) {
+                if (first == last) {
+                    if (next == null) {
+                        return null;
+                    }
+                    TAIL.compareAndSet(this, last, next);
+                } else {
+                    T data = next.data;
+                    if (HEAD.compareAndSet(this, first, next)) {
+                        next.data = null;
+                        return data;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the data at the front of the queue. Safe to call
+     * from any number of threads.
+     *
+     * @return the data formerly at the front of the queue
+     * @throws java.util.NoSuchElementException if the queue is empty
+     */
+    public T removeFirst() {
+        T data = poll();
+        if (data == null) {
+            throw new NoSuchElementException("queue is empty!");
+        }
+        return data;
+    }
+
+    /**
+     * Returns whether the queue was empty at some point during the call.
+     *
+     * Runs in O(1) for all cases.
+     *
+     * @return true if empty; false otherwise
+     */
+    public boolean isEmpty() {
+        return head.next == null;
+    }
+
+    /**
+     * Returns the number of elements in the queue by walking it. Under
+     * concurrent updates the result is only an estimate.
+     *
+     * Runs in O(n) for all cases.
+     *
+     * @return the number of elements in the queue
+     */
+    public int size() {
+        int count = 0;
+        for (Node<T> curr = head.next; curr != null; curr = curr.next) {
+            if (curr.data != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * A node of the queue. {@code data} is null only in the dummy node.
+     */
+    private static final class Node<T> {
+        private volatile T data;
+        private volatile Node<T> next;
+
+        /**
+         * Creates an unlinked node.
+         *
+         * @param data the data stored in the node
+         */
+        Node(T data) {
+            this.data = data;
+        }
+    }
+}
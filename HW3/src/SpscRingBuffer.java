@@ -0,0 +1,204 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Collection;
+
+/**
+ * Your implementation of a bounded single-producer/single-consumer ring
+ * buffer.
+ *
+ * It uses the same circular layout as ArrayDeque, but the ends are kept as
+ * ever-increasing sequence numbers that are masked into a power of two
+ * backing array. Exactly one thread may call {@code offer} and exactly one
+ * other thread may call {@code poll} and {@code drainTo}. Neither side
+ * locks: the producer publishes a slot with a release store to the tail
+ * sequence, and the consumer frees it with a release store to the head
+ * sequence. Each sequence is padded onto its own cache line, next to that
+ * side's cached copy of the other side's sequence, so the two threads only
+ * touch shared lines when the cached copy runs out.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class SpscRingBuffer<T> {
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(Value.class, "value",
+                long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final T[] backingArray;
+    private final int mask;
+    private final Sequence head = new Sequence();
+    private final Sequence tail = new Sequence();
+
+    /**
+     * Constructs a new SpscRingBuffer that holds at least {@code capacity}
+     * elements. The capacity is rounded up to a power of two.
+     *
+     * @param capacity the minimum number of elements the buffer can hold
+     * @throws java.lang.IllegalArgumentException if capacity < 1 or
+     * capacity > 2^30
+     */
+    @SuppressWarnings("unchecked")
+    public SpscRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity is out of range!");
+        }
+        int length = Integer.highestOneBit(capacity);
+        if (length < capacity) {
+            length <<= 1;
+        }
+        backingArray = (T[]) new Object[length];
+        mask = length - 1;
+    }
+
+    /**
+     * Adds the data to the back of the buffer if there is room. Only the
+     * producer thread may call this method.
+     *
+     * This method must run in O(1) time.
+     *
+     * @param data the data to add
+     * @return true if the data was added; false if the buffer is full
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public boolean offer(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        long t = tail.value;
+        if (t - tail.cache >= backingArray.length) {
+            tail.cache = (long) VALUE.getAcquire(head);
+            if (t - tail.cache >= backingArray.length) {
+                return false;
+            }
+        }
+        backingArray[(int) t & mask] = data;
+        VALUE.setRelease(tail, t + 1);
+        return true;
+    }
+
+    /**
+     * Removes the data at the front of the buffer. Only the consumer thread
+     * may call this method.
+     *
+     * This method must run in O(1) time.
+     *
+     * @return the data formerly at the front, or null if the buffer is empty
+     */
+    public T poll() {
+        long h = head.value;
+        if (h >= head.cache) {
+            head.cache = (long) VALUE.getAcquire(tail);
+            if (h >= head.cache) {
+                return null;
+            }
+        }
+        int index = (int) h & mask;
+        T data = backingArray[index];
+        backingArray[index] = null;
+        VALUE.setRelease(head, h + 1);
+        return data;
+    }
+
+    /**
+     * Removes up to {@code maxElements} elements from the front of the
+     * buffer and adds them to the collection in order, freeing all of their
+     * slots with a single release store. Only the consumer thread may call
+     * this method.
+     *
+     * This method must run in O(k) time, where k is the number moved.
+     *
+     * @param collection the collection to add the elements to
+     * @param maxElements the largest number of elements to move
+     * @return the number of elements moved
+     * @throws java.lang.IllegalArgumentException if collection is null
+     */
+    public int drainTo(Collection<? super T> collection, int maxElements) {
+        if (collection == null) {
+            throw new IllegalArgumentException("collection cannot be null!");
+        }
+        long h = head.value;
+        head.cache = (long) VALUE.getAcquire(tail);
+        int count = (int) Math.min(head.cache - h, Math.max(maxElements, 0));
+        for (int i = 0; i < count; i++) {
+            int index = (int) (h + i) & mask;
+            collection.add(backingArray[index]);
+            backingArray[index] = null;
+        }
+        if (count > 0) {
+            VALUE.setRelease(head, h + count);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of elements in the buffer. When called while the
+     * other thread is active, the result is only a snapshot.
+     *
+     * Runs in O(1) for all cases.
+     *
+     * @return the number of elements in the buffer
+     */
+    public int size() {
+        long h = (long) VALUE.getAcquire(head);
+        long t = (long) VALUE.getAcquire(tail);
+        return (int) Math.max(0, t - h);
+    }
+
+    /**
+     * Returns the number of elements the buffer can hold.
+     *
+     * @return the capacity of the buffer
+     */
+    public int capacity() {
+        return backingArray.length;
+    }
+
+    /**
+     * Padding before a sequence, so that it never shares a cache line with
+     * whatever is allocated just before it.
+     */
+    @SuppressWarnings("unused")
+    private static class LeftPad {
+        private long p01;
+        private long p02;
+        private long p03;
+        private long p04;
+        private long p05;
+        private long p06;
+        private long p07;
+    }
+
+    /**
+     * A sequence number owned by one side, and that side's cached copy of
+     * the other side's sequence number.
+     */
+    private static class Value extends LeftPad {
+        long value;
+        long cache;
+    }
+
+    /**
+     * A padded sequence. Superclass fields are laid out first, so the value
+     * sits between the two runs of padding.
+     */
+    @SuppressWarnings("unused")
+    private static final class Sequence extends Value {
+        private long p11;
+        private long p12;
+        private long p13;
+        private long p14;
+        private long p15;
+        private long p16;
+        private long p17;
+    }
+}
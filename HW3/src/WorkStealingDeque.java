@@ -0,0 +1,178 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Your implementation of a Chase-Lev work-stealing deque.
+ *
+ * It uses the same circular buffer as ArrayDeque, with the ends kept as
+ * ever-increasing indices masked into a power of two backing array. One
+ * owner thread pushes and pops at the bottom like a stack; any number of
+ * thief threads take from the top with a compare-and-set on {@code top}.
+ * The owner and a thief only race for the last element, which is settled
+ * by the same compare-and-set.
+ *
+ * When the buffer is full the owner copies the live range into an array of
+ * twice the size and publishes it through a volatile write. Thieves that
+ * still hold the old array read the same elements from it, since the old
+ * array is never written again, so growing never blocks them.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class WorkStealingDeque<T> {
+
+    /**
+     * The initial capacity of the WorkStealingDeque.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    private static final VarHandle TOP;
+
+    static {
+        try {
+            TOP = MethodHandles.lookup().findVarHandle(
+                WorkStealingDeque.class, "top", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile long top;
+    private volatile long bottom;
+    private volatile Object[] backingArray;
+
+    /**
+     * Constructs a new, empty WorkStealingDeque with an initial capacity of
+     * {@code INITIAL_CAPACITY}.
+     */
+    public WorkStealingDeque() {
+        backingArray = new Object[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Adds the data to the bottom of the deque, doubling the backing array
+     * if it is full. Only the owner thread may call this method.
+     *
+     * This method must run in amortized O(1) time.
+     *
+     * @param data the data to add to the deque
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void pushBottom(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        long b = bottom;
+        long t = top;
+        Object[] arr = backingArray;
+        if (b - t >= arr.length) {
+            arr = regrow(arr, t, b);
+        }
+        arr[(int) b & (arr.length - 1)] = data;
+        bottom = b + 1;
+    }
+
+    /**
+     * Removes the data at the bottom of the deque, the most recently pushed
+     * element that has not been stolen. Only the owner thread may call this
+     * method.
+     *
+     * This method must run in O(1) time.
+     *
+     * @return the data formerly at the bottom, or null if the deque is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T popBottom() {
+        long b = bottom - 1;
+        Object[] arr = backingArray;
+        bottom = b;
+        long t = top;
+        if (t > b) {
+            bottom = b + 1;
+            return null;
+        }
+        int index = (int) b & (arr.length - 1);
+        T data = (T) arr[index];
+        if (t < b) {
+            arr[index] = null;
+            return data;
+        }
+        // last element: race the thieves for it
+        if (!TOP.compareAndSet(this, t, t + 1)) {
+            data = null;
+        }
+        bottom = b + 1;
+        return data;
+    }
+
+    /**
+     * Removes the data at the top of the deque, the oldest element. Safe to
+     * call from any thread.
+     *
+     * This method is lock-free: it only retries when another thread
+     * removed an element first.
+     *
+     * @return the data formerly at the top, or null if the deque is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T steal() {
+        while (true) {
+            long t = top;
+            long b = bottom;
+            if (t >= b) {
+                return null;
+            }
+            Object[] arr = backingArray;
+            T data = (T) arr[(int) t & (arr.length - 1)];
+            if (TOP.compareAndSet(this, t, t + 1)) {
+                return data;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of elements in the deque. When called while other
+     * threads are active, the result is only a snapshot.
+     *
+     * Runs in O(1) for all cases.
+     *
+     * @return the number of elements in the deque
+     */
+    public int size() {
+        long t = top;
+        long b = bottom;
+        return (int) Math.max(0, b - t);
+    }
+
+    /**
+     * Returns whether the deque is empty.
+     *
+     * Runs in O(1) for all cases.
+     *
+     * @return true if empty; false otherwise
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * helper method, copies the elements at indices [t, b) into an array
+     * twice the size, keeping each at the same masked index, and publishes
+     * it
+     * @param arr the current backing array
+     * @param t the top index
+     * @param b the bottom index
+     * @return the new backing array
+     */
+    private Object[] regrow(Object[] arr, long t, long b) {
+        Object[] temp = new Object[arr.length * 2];
+        for (long i = t; i < b; i++) {
+            temp[(int) i & (temp.length - 1)] =
+                arr[(int) i & (arr.length - 1)];
+        }
+        backingArray = temp;
+        return temp;
+    }
+}
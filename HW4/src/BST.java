@@ -1,5 +1,10 @@
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -14,10 +19,11 @@ import java.util.Queue;
  * @version 1.0
  */
 
-public class BST<T extends Comparable<? super T>> {
-    // DO NOT ADD OR MODIFY INSTANCE VARIABLES.
+public class BST<T extends Comparable<? super T>>
+    implements Iterable<T> {
     private BSTNode<T> root;
     private int size;
+    private int modCount;
 
     /**
      * A no-argument constructor that should initialize an empty BST.
@@ -48,6 +54,91 @@ public class BST<T extends Comparable<? super T>> {
         }
     }
 
+    /**
+     * Initializes the BST with the data in the Collection. If balanced
+     * is false this is the same as {@link #BST(Collection)}.
+     *
+     * If balanced is true the data is sorted once, or kept as is when it
+     * is already in strictly increasing order, and duplicates are dropped
+     * keeping the first occurrence. The tree is then built bottom-up with
+     * the middle element of each range as the root, so every node has
+     * subtrees whose sizes differ by at most one. This runs in O(n) for
+     * sorted input and O(n log n) otherwise, without any per-element
+     * searches.
+     *
+     * @param data the data to add to the tree
+     * @param balanced whether to build a balanced tree from sorted data
+     * @throws IllegalArgumentException if data or any element in data is null
+     */
+    public BST(Collection<T> data, boolean balanced) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data cannot be null!");
+        }
+        if (balanced) {
+            List<T> sorted = sortedDistinct(data);
+            root = build(sorted, 0, sorted.size() - 1);
+            size = sorted.size();
+        } else {
+            for (T d : data) {
+                add(d);
+            }
+        }
+    }
+
+    /**
+     * helper method of the balanced constructor, copies the data into a
+     * list in increasing order without duplicates
+     * @param data the data to sort
+     * @return the sorted, distinct data
+     */
+    private List<T> sortedDistinct(Collection<T> data) {
+        List<T> list = new ArrayList<>(data.size());
+        boolean sorted = true;
+        for (T d : data) {
+            if (d == null) {
+                throw new IllegalArgumentException("Data cannot be null!");
+            }
+            if (!list.isEmpty()
+                && list.get(list.size() - 1).compareTo(d) >= 0) {
+                sorted = false;
+            }
+            list.add(d);
+        }
+        if (sorted) {
+            return list;
+        }
+        // stable, so the first of several equal elements stays first
+        list.sort(null);
+        int n = 0;
+        for (T d : list) {
+            if (n == 0 || list.get(n - 1).compareTo(d) != 0) {
+                list.set(n++, d);
+            }
+        }
+        return list.subList(0, n);
+    }
+
+    /**
+     * helper method of the balanced constructor, builds a balanced subtree
+     * from a range of sorted data; recursion depth is O(log n)
+     * @param sorted the sorted, distinct data
+     * @param lo the first index of the range
+     * @param hi the last index of the range
+     * @return the root of the subtree, or null if the range is empty
+     */
+    private BSTNode<T> build(List<T> sorted, int lo, int hi) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        BSTNode<T> node = new BSTNode<>(sorted.get(mid));
+        node.setLeft(build(sorted, lo, mid - 1));
+        node.setRight(build(sorted, mid + 1, hi));
+        node.setSize(sizeOf(node.getLeft()) + sizeOf(node.getRight())
+            + 1);
+        return node;
+    }
+
     /**
      * Add the data as a leaf in the BST. Should traverse the tree to find the
      * appropriate location. If the data is already in the tree, then nothing
@@ -64,27 +155,39 @@ public class BST<T extends Comparable<? super T>> {
         if (data == null) {
             throw new IllegalArgumentException("Data cannot be null!");
         }
-        root = add(data, root);
-    }
-    
-    /**
-     * helper function of add, takes in data and node
-     * to perform recursive call
-     * @param data the data to add
-     * @param node the current node
-     * @return the copy of a generic type BSTNode prior to add
-     */
-    private BSTNode<T> add(T data, BSTNode<T> node) {
-        if (node == null) {
+        if (root == null) {
+            root = new BSTNode<>(data);
             size++;
-            return new BSTNode<T>(data);
+            modCount++;
+            return;
         }
-        if (data.compareTo(node.getData()) < 0) {
-            node.setLeft(add(data, node.getLeft()));
-        } else if (data.compareTo(node.getData()) > 0) {
-            node.setRight(add(data, node.getRight()));
+        // count the new node on the way down, undoing it for a duplicate
+        BSTNode<T> curr = root;
+        while (true) {
+            int cmp = data.compareTo(curr.getData());
+            if (cmp == 0) {
+                resizePath(data, curr, -1);
+                return;
+            }
+            curr.setSize(curr.getSize() + 1);
+            if (cmp < 0) {
+                if (curr.getLeft() == null) {
+                    curr.setLeft(new BSTNode<>(data));
+                    size++;
+                    modCount++;
+                    return;
+                }
+                curr = curr.getLeft();
+            } else {
+                if (curr.getRight() == null) {
+                    curr.setRight(new BSTNode<>(data));
+                    size++;
+                    modCount++;
+                    return;
+                }
+                curr = curr.getRight();
+            }
         }
-        return node;
     }
 
     /**
@@ -93,9 +196,9 @@ public class BST<T extends Comparable<? super T>> {
      * 1: the data is a leaf. In this case, simply remove it.
      * 2: the data has one child. In this case, simply replace it with its
      * child.
-     * 3: the data has 2 children. Use the successor to replace the data.
-     * You must use recursion to find and remove the successor (you will likely
-     * need an additional helper method to handle this case efficiently).
+     * 3: the data has 2 children. Use the predecessor to replace the data.
+     * The node and then the predecessor are found by one loop down from
+     * the root, so a degenerate tree cannot overflow the stack.
      *
      * Should have a running time of O(log n) for a balanced tree, and a worst
      * case of O(n).
@@ -110,60 +213,77 @@ public class BST<T extends Comparable<? super T>> {
         if (data == null) {
             throw new IllegalArgumentException("Data cannot be null!");
         }
-        BSTNode<T> rm = new BSTNode<>(null);
-        root = remove(data, root, rm);
-        return rm.getData();
+        // uncount the node on the way down, undoing it if there is none
+        BSTNode<T> parent = null;
+        BSTNode<T> curr = root;
+        while (curr != null) {
+            int cmp = data.compareTo(curr.getData());
+            if (cmp == 0) {
+                break;
+            }
+            curr.setSize(curr.getSize() - 1);
+            parent = curr;
+            curr = cmp < 0 ? curr.getLeft() : curr.getRight();
+        }
+        if (curr == null) {
+            resizePath(data, null, 1);
+            throw new NoSuchElementException("No such element found");
+        }
+        T removed = curr.getData();
+        if (curr.getLeft() != null && curr.getRight() != null) {
+            curr.setSize(curr.getSize() - 1);
+            BSTNode<T> predParent = curr;
+            BSTNode<T> pred = curr.getLeft();
+            while (pred.getRight() != null) {
+                pred.setSize(pred.getSize() - 1);
+                predParent = pred;
+                pred = pred.getRight();
+            }
+            curr.setData(pred.getData());
+            replaceChild(predParent, pred, pred.getLeft());
+        } else {
+            replaceChild(parent, curr,
+                curr.getLeft() != null ? curr.getLeft() : curr.getRight());
+        }
+        size--;
+        modCount++;
+        return removed;
     }
 
     /**
-     * helper function of remove, can take in data, node, and rm
-     * to perform recursive call
-     * @param data     the data to be removed
-     * @param node   the current node
-     * @param rm   the BSTNode to be removed
-     * @return the BSTNode removed
+     * helper function of add and remove, adds delta to the size of every
+     * node on the search path for data above stop; used to undo the counts
+     * changed on the way down when add finds a duplicate or remove finds
+     * nothing
+     * @param data the data that was searched for
+     * @param stop the node the search ended at, or null if it fell off
+     * @param delta the amount to add to each size
      */
-    private BSTNode<T> remove(T data, BSTNode<T> node, BSTNode<T> rm) {
-        if (node == null) {
-            throw new NoSuchElementException("No such element found");
-        } else if (data.compareTo(node.getData()) > 0) {
-            node.setRight(remove(data, node.getRight(), rm));
-        } else if (data.compareTo(node.getData()) < 0) {
-            node.setLeft(remove(data, node.getLeft(), rm));
-        } else {
-            rm.setData(node.getData());
-            if (node.getLeft() == null) {
-                size--;
-                return node.getRight();
-            } else if (node.getRight() == null) {
-                size--;
-                return node.getLeft();
-            } else {
-                size--;
-                BSTNode<T> rp = new BSTNode<>(null);
-                node.setLeft(getAncestor(node.getLeft(), rp));
-                node.setData(rp.getData());
-            }
+    private void resizePath(T data, BSTNode<T> stop, int delta) {
+        for (BSTNode<T> node = root; node != stop;
+             node = data.compareTo(node.getData()) < 0
+                 ? node.getLeft() : node.getRight()) {
+            node.setSize(node.getSize() + delta);
         }
-        return node;
     }
 
     /**
-     * helper function of remove, takes in node and the replaced node
-     * and finds the previous node
-     * @param node the current node
-     * @param rp the node that is to be replaced
-     * @return the BSTNode at previous location
+     * helper function of remove, links child into the place of node
+     * @param parent the parent of node, or null if node is the root
+     * @param node the node being unlinked
+     * @param child the node that takes its place, may be null
      */
-    private BSTNode<T> getAncestor(BSTNode<T> node, BSTNode<T> rp) {
-        if (node.getRight() == null) {
-            rp.setData(node.getData());
-            return node.getLeft();
+    private void replaceChild(BSTNode<T> parent, BSTNode<T> node,
+                              BSTNode<T> child) {
+        if (parent == null) {
+            root = child;
+        } else if (parent.getLeft() == node) {
+            parent.setLeft(child);
         } else {
-            node.setRight(getAncestor(node.getRight(), rp));
-            return node;
+            parent.setRight(child);
         }
     }
+
     /**
      * Returns the data in the tree matching the parameter passed in (think
      * carefully: should you use value equality or reference equality?).
@@ -182,25 +302,28 @@ public class BST<T extends Comparable<? super T>> {
         if (data == null) {
             throw new IllegalArgumentException("Data cannot be null!");
         }
-        return get(data, root).getData();
+        BSTNode<T> node = find(data);
+        if (node == null) {
+            throw new NoSuchElementException("No such element found!");
+        }
+        return node.getData();
     }
-    
+
     /**
-     * helper function of get, takes in data and current node
+     * helper function of get and contains, walks down from the root
      * @param data the data to search
-     * @param node the current node
-     * @return BSTNode of generic type, the desired output
+     * @return the node holding the data, or null if there is none
      */
-    private BSTNode<T> get(T data, BSTNode<T> node) {
-        if (node == null) {
-            throw new NoSuchElementException("No such element found!");
-        } else if (data.compareTo(node.getData()) > 0) {
-            return get(data, node.getRight());
-        } else if (data.compareTo(node.getData()) < 0) {
-            return get(data, node.getLeft());
-        } else {
-            return node;
+    private BSTNode<T> find(T data) {
+        BSTNode<T> curr = root;
+        while (curr != null) {
+            int cmp = data.compareTo(curr.getData());
+            if (cmp == 0) {
+                return curr;
+            }
+            curr = cmp < 0 ? curr.getLeft() : curr.getRight();
         }
+        return null;
     }
 
     /**
@@ -219,27 +342,9 @@ public class BST<T extends Comparable<? super T>> {
         if (data == null) {
             throw new IllegalArgumentException("Data cannot be null");
         }
-        return contains(data, root);
+        return find(data) != null;
     }
 
-    /**
-     * helper function of contains, takes in data and node, to recursively come
-     * out of the result
-     * @param data the data to search
-     * @param node the current node
-     * @return whether BST contains the data or not
-     */
-    private boolean contains(T data, BSTNode<T> node) {
-        if (node == null) {
-            return false;
-        } else if (data.compareTo(node.getData()) > 0) {
-            return contains(data, node.getRight());
-        } else if (data.compareTo(node.getData()) < 0) {
-            return contains(data, node.getLeft());
-        } else {
-            return true;
-        }
-    }
     /**
      * Should run in O(n).
      *
@@ -247,22 +352,21 @@ public class BST<T extends Comparable<? super T>> {
      */
     public List<T> preorder() {
         List<T> list = new ArrayList<>();
-        preorder(root, list);
-        return list;
-    }
-    
-    /**
-     * helper function of preorder, takes in node and list, to recursively come
-     * out of the result
-     * @param node the current node
-     * @param list the list that contains the elements traversed
-     */
-    private void preorder(BSTNode<T> node, List<T> list) {
-        if (node != null) {
+        Deque<BSTNode<T>> stack = new ArrayDeque<>();
+        if (root != null) {
+            stack.push(root);
+        }
+        while (!stack.isEmpty()) {
+            BSTNode<T> node = stack.pop();
             list.add(node.getData());
-            preorder(node.getLeft(), list);
-            preorder(node.getRight(), list);
+            if (node.getRight() != null) {
+                stack.push(node.getRight());
+            }
+            if (node.getLeft() != null) {
+                stack.push(node.getLeft());
+            }
         }
+        return list;
     }
 
     /**
@@ -271,36 +375,18 @@ public class BST<T extends Comparable<? super T>> {
      */
     public List<T> inorder() {
         List<T> list = new ArrayList<>();
-        inorder(root, list);
-        return list;
-    }
-    
-    /**
-     * helper function of inorder, takes in node and list to perform
-     * recursive operation
-     * @param node the current node
-     * @param list the list that contains the elements traversed
-     */
-    private void inorder(BSTNode<T> node, List<T> list) {
-        if (node != null) {
-            inorder(node.getLeft(), list);
-            list.add(node.getData());
-            inorder(node.getRight(), list);
-        }
-    }
-    
-    /**
-     * helper function of postorder, takes in node and list to perform
-     * recursive operation
-     * @param node the current node
-     * @param list the list that contains the elements traversed
-     */
-    private void postorder(BSTNode<T> node, List<T> list) {
-        if (node != null) {
-            postorder(node.getLeft(), list);
-            postorder(node.getRight(), list);
-            list.add(node.getData());
+        Deque<BSTNode<T>> stack = new ArrayDeque<>();
+        BSTNode<T> curr = root;
+        while (curr != null || !stack.isEmpty()) {
+            while (curr != null) {
+                stack.push(curr);
+                curr = curr.getLeft();
+            }
+            curr = stack.pop();
+            list.add(curr.getData());
+            curr = curr.getRight();
         }
+        return list;
     }
 
     /**
@@ -308,8 +394,23 @@ public class BST<T extends Comparable<? super T>> {
      * @return a postorder traversal of the tree
      */
     public List<T> postorder() {
+        // node, right, left order reversed is left, right, node
         List<T> list = new ArrayList<>();
-        postorder(root, list);
+        Deque<BSTNode<T>> stack = new ArrayDeque<>();
+        if (root != null) {
+            stack.push(root);
+        }
+        while (!stack.isEmpty()) {
+            BSTNode<T> node = stack.pop();
+            list.add(node.getData());
+            if (node.getLeft() != null) {
+                stack.push(node.getLeft());
+            }
+            if (node.getRight() != null) {
+                stack.push(node.getRight());
+            }
+        }
+        Collections.reverse(list);
         return list;
     }
 
@@ -346,6 +447,76 @@ public class BST<T extends Comparable<? super T>> {
         return list;
     }
 
+    /**
+     * Returns the rank of the data, the number of data in the tree that are
+     * less than it. The data does not have to be in the tree.
+     *
+     * Uses the subtree sizes kept on each node, so it has a running time of
+     * O(log n) for a balanced tree, and a worst case of O(n).
+     *
+     * @throws IllegalArgumentException if the data is null
+     * @param data the data to rank
+     * @return the number of data in the tree less than data
+     */
+    public int rank(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data cannot be null!");
+        }
+        int rank = 0;
+        BSTNode<T> curr = root;
+        while (curr != null) {
+            int cmp = data.compareTo(curr.getData());
+            if (cmp < 0) {
+                curr = curr.getLeft();
+            } else if (cmp > 0) {
+                rank += sizeOf(curr.getLeft()) + 1;
+                curr = curr.getRight();
+            } else {
+                return rank + sizeOf(curr.getLeft());
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the data with the given rank, the index-th smallest data in
+     * the tree counting from 0.
+     *
+     * Uses the subtree sizes kept on each node, so it has a running time of
+     * O(log n) for a balanced tree, and a worst case of O(n).
+     *
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or
+     * index >= size
+     * @param index the rank of the data to return
+     * @return the data with that rank
+     */
+    public T select(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index is out of bounds!");
+        }
+        BSTNode<T> curr = root;
+        while (true) {
+            int left = sizeOf(curr.getLeft());
+            if (index < left) {
+                curr = curr.getLeft();
+            } else if (index > left) {
+                index -= left + 1;
+                curr = curr.getRight();
+            } else {
+                return curr.getData();
+            }
+        }
+    }
+
+    /**
+     * helper function of rank and select
+     * @param node the node, may be null
+     * @return the size of the subtree rooted at node
+     */
+    private int sizeOf(BSTNode<T> node) {
+        return node == null ? 0 : node.getSize();
+    }
+
     /**
      * Finds and retrieves the k-largest elements from the BST in sorted order,
      * least to greatest.
@@ -379,44 +550,145 @@ public class BST<T extends Comparable<? super T>> {
      * @return sorted list consisting of the k largest elements
      */
     public List<T> kLargest(int k) {
-        int c = 0;
-    	List<T> list = new ArrayList<T>();
-    	List<T> list2 = new ArrayList<T>();
-    	findLarge(root, k, c, list);
-        for (int i = k - 1; i >= 0; i--) {
-            list2.add(list.get(i));
-        }
-        return list2;
+        if (k > size) {
+            throw new IllegalArgumentException("k cannot exceed the size!");
+        }
+        List<T> list = new ArrayList<>();
+        Deque<BSTNode<T>> stack = new ArrayDeque<>();
+        BSTNode<T> curr = root;
+        while (list.size() < k) {
+            while (curr != null) {
+                stack.push(curr);
+                curr = curr.getRight();
+            }
+            curr = stack.pop();
+            list.add(curr.getData());
+            curr = curr.getLeft();
+        }
+        Collections.reverse(list);
+        return list;
     }
-    
+
     /**
-     * helper function of kLargest, takes in node, k, c and list to perform
-     * recursive operation; it performs inorder traversal from right to left
-     * to find out the largest elements.
-     * @param node the current node
-     * @param k the number of largest elements to return
-     * @param c the current count
-     * @param list the list that contains the elements traversed
+     * Returns an iterator over the data in the tree in sorted order. Nodes
+     * are visited lazily, so the iterator holds O(height) nodes rather than
+     * a copy of the whole tree, and the first element is ready in O(height).
+     *
+     * The iterator is fail-fast: it throws a
+     * ConcurrentModificationException if the tree is structurally modified
+     * after it was created. It does not support remove.
+     *
+     * @return an in-order iterator over the tree
      */
-    private void findLarge(BSTNode<T> node, int k, int c, List<T> list) {
-        if (node == null) {
-            return;
+    @Override
+    public Iterator<T> iterator() {
+        return new RangeIterator(null, null);
+    }
+
+    /**
+     * Returns a view of the data that is at least {@code from} and less
+     * than {@code to}, iterated lazily in sorted order. Each iteration
+     * first skips to {@code from} in O(height) time.
+     *
+     * @throws java.lang.IllegalArgumentException if from or to is null, or
+     * from is greater than to
+     * @param from the lowest data to include
+     * @param to the data to stop before
+     * @return an Iterable over the data in [from, to)
+     */
+    public Iterable<T> range(T from, T to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("bounds cannot be null!");
         }
-        if (c > k) {
-            return; 
+        if (from.compareTo(to) > 0) {
+            throw new IllegalArgumentException(
+                "from cannot be greater than to!");
         }
-        findLarge(node.getRight(), k, c, list); 
-        if (c >= k) {
-            return;
+        return () -> new RangeIterator(from, to);
+    }
+
+    /**
+     * Returns a view of the data less than {@code to}, iterated lazily in
+     * sorted order.
+     *
+     * @throws java.lang.IllegalArgumentException if to is null
+     * @param to the data to stop before
+     * @return an Iterable over the data less than to
+     */
+    public Iterable<T> headSet(T to) {
+        if (to == null) {
+            throw new IllegalArgumentException("bound cannot be null!");
         }
-        list.add(node.getData());
-        c++; 
-        if (c >= k) {
-            return; 
+        return () -> new RangeIterator(null, to);
+    }
+
+    /**
+     * Returns a view of the data that is at least {@code from}, iterated
+     * lazily in sorted order.
+     *
+     * @throws java.lang.IllegalArgumentException if from is null
+     * @param from the lowest data to include
+     * @return an Iterable over the data at least from
+     */
+    public Iterable<T> tailSet(T from) {
+        if (from == null) {
+            throw new IllegalArgumentException("bound cannot be null!");
         }
-        findLarge(node.getLeft(), k, c, list); 
-    } 
+        return () -> new RangeIterator(from, null);
+    }
 
+    /**
+     * An in-order iterator over the data in [from, to). The stack holds the
+     * nodes whose data has not been returned yet but whose left subtree has,
+     * deepest on top.
+     */
+    private class RangeIterator implements Iterator<T> {
+        private final T to;
+        private final int expectedModCount = modCount;
+        private final Deque<BSTNode<T>> stack = new ArrayDeque<>();
+
+        /**
+         * Creates an iterator positioned at the first data not less than
+         * from.
+         *
+         * @param from the lowest data to include, or null for no lower bound
+         * @param to the data to stop before, or null for no upper bound
+         */
+        RangeIterator(T from, T to) {
+            this.to = to;
+            BSTNode<T> curr = root;
+            while (curr != null) {
+                if (from != null && curr.getData().compareTo(from) < 0) {
+                    curr = curr.getRight();
+                } else {
+                    stack.push(curr);
+                    curr = curr.getLeft();
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty()
+                && (to == null || stack.peek().getData().compareTo(to) < 0);
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException("no more data!");
+            }
+            BSTNode<T> node = stack.pop();
+            for (BSTNode<T> curr = node.getRight(); curr != null;
+                 curr = curr.getLeft()) {
+                stack.push(curr);
+            }
+            return node.getData();
+        }
+    }
 
     /**
      * Clears the tree.
@@ -425,6 +697,7 @@ public class BST<T extends Comparable<? super T>> {
      */
     public void clear() {
         size = 0;
+        modCount++;
         root = null;
     }
 
@@ -438,36 +711,24 @@ public class BST<T extends Comparable<? super T>> {
      * @return the height of the root of the tree, -1 if the tree is empty
      */
     public int height() {
-    	if (size == 0) {
-            return -1;
-        } else {
-            return height(root);
+        int height = -1;
+        Queue<BSTNode<T>> queue = new LinkedList<>();
+        if (root != null) {
+            queue.add(root);
         }
-    }
-    
-    /**
-     * helper function of height, takes in node and determines
-     * the largest height of left/right subtree
-     * @param node the current node
-     * @return an integer which is the height of the subtree
-     * under current node
-     */
-    private int height(BSTNode<T> node) {
-    	if (node.getLeft() == null && node.getRight() == null) {
-            return 0;
-        } else if (node.getLeft() == null && node.getRight() != null) {
-            return height(node.getRight()) + 1;
-        } else if (node.getLeft() != null && node.getRight() == null) {
-            return height(node.getLeft()) + 1;
-        } else {
-            int l = height(node.getLeft());
-            int r = height(node.getRight());
-            if (l > r) {
-            	return l + 1;
-            } else {
-            	return r + 1;
+        while (!queue.isEmpty()) {
+            height++;
+            for (int i = queue.size(); i > 0; i--) {
+                BSTNode<T> node = queue.remove();
+                if (node.getLeft() != null) {
+                    queue.add(node.getLeft());
+                }
+                if (node.getRight() != null) {
+                    queue.add(node.getRight());
+                }
             }
         }
+        return height;
     }
 
     /**
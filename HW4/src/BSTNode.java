@@ -9,6 +9,7 @@ public class BSTNode<T extends Comparable<? super T>> {
     private T data;
     private BSTNode<T> left;
     private BSTNode<T> right;
+    private int size;
 
     /**
      * Create a BST node with the given data.
@@ -17,6 +18,7 @@ public class BSTNode<T extends Comparable<? super T>> {
      */
     public BSTNode(T data) {
         this.data = data;
+        this.size = 1;
     }
 
     /**
@@ -72,6 +74,24 @@ public class BSTNode<T extends Comparable<? super T>> {
     public void setRight(BSTNode<T> right) {
         this.right = right;
     }
+
+    /**
+     * Get the number of nodes in the subtree rooted at this node.
+     *
+     * @return size of the subtree rooted at this node
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Set the number of nodes in the subtree rooted at this node.
+     *
+     * @param size size of the subtree rooted at this node
+     */
+    public void setSize(int size) {
+        this.size = size;
+    }
     
     public BSTNode<T> remove(T data2, BSTNode<T> root, BSTNode<T> n) {
 		// TODO Auto-generated method stub
@@ -1,12 +1,16 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 
 /**
  * Sample JUnit test cases for BST.
@@ -347,4 +351,108 @@ public class BSTStudentTests {
 
         assertEquals(2, bst.height());
     }
+
+    @Test(timeout = TIMEOUT)
+    public void testDegenerateTreeOnSmallStack() throws InterruptedException {
+        // a sorted insert order builds a 3000 deep chain, which a recursive
+        // walk could not finish on a 64 KB stack
+        Throwable[] failure = new Throwable[1];
+        Thread thread = new Thread(null, () -> {
+            try {
+                for (int i = 0; i < 3000; i++) {
+                    bst.add(i);
+                }
+                assertEquals(2999, bst.height());
+                assertEquals(true, bst.contains(2999));
+                assertEquals((Integer) 1500, bst.get(1500));
+                assertEquals(3000, bst.inorder().size());
+                assertEquals((Integer) 0, bst.postorder().get(2999));
+                assertEquals((Integer) 2999, bst.kLargest(1).get(0));
+                assertEquals((Integer) 2999, bst.remove(2999));
+                assertEquals(2998, bst.height());
+            } catch (Throwable e) {
+                failure[0] = e;
+            }
+        }, "small-stack", 1 << 16);
+        thread.start();
+        thread.join();
+        assertEquals(null, failure[0]);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLazyIteratorAndRanges() {
+        for (int i = 0; i < 20; i += 2) {
+            bst.add(i);
+        }
+        List<Integer> seen = new ArrayList<>();
+        for (int data : bst) {
+            seen.add(data);
+        }
+        assertEquals(Arrays.asList(0, 2, 4, 6, 8, 10, 12, 14, 16,
+            18), seen);
+
+        seen.clear();
+        for (int data : bst.range(5, 12)) {
+            seen.add(data);
+        }
+        assertEquals(Arrays.asList(6, 8, 10), seen);
+
+        seen.clear();
+        bst.headSet(4).forEach(seen::add);
+        bst.tailSet(16).forEach(seen::add);
+        assertEquals(Arrays.asList(0, 2, 16, 18), seen);
+
+        Iterator<Integer> it = bst.range(19, 30).iterator();
+        assertEquals(false, it.hasNext());
+
+        it = bst.iterator();
+        assertEquals((Integer) 0, it.next());
+        bst.add(1);
+        try {
+            it.next();
+            fail();
+        } catch (ConcurrentModificationException e) {
+            assertEquals(11, bst.size());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRankAndSelect() {
+        for (int i : new int[] {50, 25, 75, 12, 37, 10, 15, 40, 13}) {
+            bst.add(i);
+        }
+        assertEquals(9, bst.getRoot().getSize());
+        assertEquals(0, bst.rank(10));
+        assertEquals(4, bst.rank(25));
+        assertEquals(4, bst.rank(20));
+        assertEquals(9, bst.rank(100));
+        assertEquals((Integer) 10, bst.select(0));
+        assertEquals((Integer) 37, bst.select(5));
+        assertEquals((Integer) 75, bst.select(8));
+
+        bst.remove(25);
+        assertEquals(8, bst.getRoot().getSize());
+        assertEquals(4, bst.rank(37));
+        assertEquals((Integer) 37, bst.select(4));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testBalancedBulkLoad() {
+        List<Integer> data = new ArrayList<>();
+        for (int i = 0; i < 1023; i++) {
+            data.add(i);
+        }
+        bst = new BST<>(data, true);
+        assertEquals(1023, bst.size());
+        assertEquals(9, bst.height());
+        assertEquals((Integer) 511, bst.getRoot().getData());
+        assertEquals(1023, bst.getRoot().getSize());
+
+        // unsorted input with duplicates is sorted and deduplicated
+        bst = new BST<>(Arrays.asList(5, 3, 9, 3, 1, 5), true);
+        assertEquals(4, bst.size());
+        assertEquals((Integer) 3, bst.getRoot().getData());
+        assertEquals(Arrays.asList(1, 3, 5, 9), bst.inorder());
+        assertEquals(2, bst.height());
+    }
 }
@@ -1,4 +1,6 @@
 import java.util.ArrayList;
+import java.util.function.LongConsumer;
+
 /**
  * Your implementation of a min heap.
  *
@@ -13,8 +15,8 @@ public class MinHeap<T extends Comparable<? super T>> {
 
     private T[] backingArray;
     private int size;
-    // Do not add any more instance variables. Do not change the declaration
-    // of the instance variables above.
+    private double minOccupancy;
+    private LongConsumer reclaimListener;
 
     /**
      * Creates a Heap with an initial capacity of {@code INITIAL_CAPACITY}
@@ -113,11 +115,7 @@ public class MinHeap<T extends Comparable<? super T>> {
         int parent = 0;
         T t;
         if (size >= backingArray.length - 1) {
-            T[] temp = (T[]) new Comparable[(int) (2 * backingArray.length)];
-            for (int i = 1; i < backingArray.length; i++) {
-                temp[i] = backingArray[i];
-            }
-            backingArray = temp;
+            resize(2 * backingArray.length);
         }
         backingArray[++size] = item;
         lower = size;
@@ -134,8 +132,12 @@ public class MinHeap<T extends Comparable<? super T>> {
 
     /**
      * Removes and returns the min item of the heap. Null out all elements not
-     * existing in the heap after this operation. Do not decrease the capacity
-     * of the backing array.
+     * existing in the heap after this operation. The capacity of the backing
+     * array is only decreased if a shrink policy was set with
+     * {@code setShrinkPolicy}.
+     *
+     * Runs in amortized O(log n). A removal that halves the backing array
+     * also copies the heap to the new array in O(n).
      *
      * @throws java.util.NoSuchElementException if the heap is empty
      * @return the removed item
@@ -152,7 +154,7 @@ public class MinHeap<T extends Comparable<? super T>> {
         size--;
         int index = 1;
         while (index * 2 <= size) {
-            if (backingArray[index * 2 + 1] != null) {
+            if (index * 2 + 1 <= size) {
                 if (backingArray[index * 2].compareTo(backingArray[index
                     * 2 + 1]) < 0) {
                     min = index * 2;
@@ -164,17 +166,90 @@ public class MinHeap<T extends Comparable<? super T>> {
             }
 
             if (backingArray[index].compareTo(backingArray[min])
-                    > 0) {
-                T temp = backingArray[index];
-                backingArray[index] = backingArray[min];
-                backingArray[min] = temp;
-                index = min;
+                    <= 0) {
+                break;
             }
+            T temp = backingArray[index];
+            backingArray[index] = backingArray[min];
+            backingArray[min] = temp;
             index = min;
         }
+        int half = backingArray.length / 2;
+        if (size + 1 < backingArray.length * minOccupancy
+                && half >= INITIAL_CAPACITY) {
+            resize(half);
+        }
         return t;
     }
 
+    /**
+     * Sets the hysteresis shrink policy: after a remove leaves fewer than
+     * {@code minOccupancy * capacity} slots in use, the backing array is
+     * halved, but never below {@code INITIAL_CAPACITY}. A policy of 0 (the
+     * default) never shrinks.
+     *
+     * add doubles the array once every index after 0 is used. Right after a
+     * halving the heap uses fewer than {@code minOccupancy} of the old
+     * capacity, half of which is left, so at least
+     * {@code (0.5 - minOccupancy) * oldCapacity} adds come before the next
+     * doubling, and the copies stay amortized against the adds and removes
+     * that caused them. The constant grows as minOccupancy approaches 0.5:
+     * at 0.25 that is a quarter of the old capacity in adds, at 0.45 only a
+     * twentieth.
+     *
+     * @param minOccupancy the fraction of the capacity below which to shrink
+     * @throws IllegalArgumentException if minOccupancy is not in [0, 0.5)
+     */
+    public void setShrinkPolicy(double minOccupancy) {
+        if (!(minOccupancy >= 0 && minOccupancy < 0.5)) {
+            throw new IllegalArgumentException(
+                "minOccupancy must be in [0, 0.5)!");
+        }
+        this.minOccupancy = minOccupancy;
+    }
+
+    /**
+     * Sets the listener told how many backing array slots each shrink or
+     * compact freed, or removes it if {@code reclaimListener} is null. To
+     * turn slots into bytes, multiply by the size of a reference, which is
+     * 4 bytes while the JVM uses compressed references (heaps under about
+     * 32 GB by default) and 8 bytes without them.
+     *
+     * @param reclaimListener the listener to notify
+     */
+    public void setReclaimListener(LongConsumer reclaimListener) {
+        this.reclaimListener = reclaimListener;
+    }
+
+    /**
+     * Shrinks the backing array to the smallest capacity that holds the
+     * heap (including the unused index 0), but not below
+     * {@code INITIAL_CAPACITY}.
+     *
+     * Must be O(n).
+     */
+    public void compact() {
+        int capacity = Math.max(size + 1, INITIAL_CAPACITY);
+        if (capacity < backingArray.length) {
+            resize(capacity);
+        }
+    }
+
+    /**
+     * helper method, replaces the backing array with one of the given
+     * capacity, copying indices 1 to size, and reports any slots freed
+     * @param capacity the capacity of the new array, greater than size
+     */
+    private void resize(int capacity) {
+        int oldCapacity = backingArray.length;
+        T[] temp = (T[]) new Comparable[capacity];
+        System.arraycopy(backingArray, 1, temp, 1, size);
+        backingArray = temp;
+        if (capacity < oldCapacity && reclaimListener != null) {
+            reclaimListener.accept(oldCapacity - capacity);
+        }
+    }
+
     
     
     /**
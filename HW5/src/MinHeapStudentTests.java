@@ -99,4 +99,21 @@ public class MinHeapStudentTests {
         assertArrayEquals(new Integer[MinHeap.INITIAL_CAPACITY],
             minHeap.getBackingArray());
     }
+
+    @Test(timeout = TIMEOUT)
+    public void testShrinkPolicy() {
+        long[] freed = new long[1];
+        minHeap.setShrinkPolicy(0.25);
+        minHeap.setReclaimListener(slots -> freed[0] += slots);
+        for (int i = 0; i < 100; i++) {
+            minHeap.add(i);
+        }
+        assertEquals(104, minHeap.getBackingArray().length);
+        for (int i = 0; i < 95; i++) {
+            assertEquals((Integer) i, minHeap.remove());
+        }
+        assertEquals(13, minHeap.getBackingArray().length);
+        assertEquals(104 - 13, freed[0]);
+        assertEquals((Integer) 95, minHeap.remove());
+    }
 }
\ No newline at end of file
@@ -1,4 +1,11 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * Your implementation of an AVL Tree.
@@ -8,10 +15,11 @@ import java.util.Collection;
  * @GTID 903132413
  * @version 1.0
  */
-public class AVL<T extends Comparable<? super T>> {
-    // DO NOT ADD OR MODIFY INSTANCE VARIABLES.
+public class AVL<T extends Comparable<? super T>>
+    implements Iterable<T> {
     private AVLNode<T> root;
     private int size;
+    private int modCount;
 
     /**
      * A no-argument constructor that should initialize an empty AVL.
@@ -42,6 +50,95 @@ public class AVL<T extends Comparable<? super T>> {
         }
     }
 
+    /**
+     * Initializes the AVL tree with the data in the Collection. If balanced
+     * is false this is the same as {@link #AVL(Collection)}.
+     *
+     * If balanced is true the data is sorted once, or kept as is when it
+     * is already in strictly increasing order, and duplicates are dropped
+     * keeping the first occurrence. The tree is then built bottom-up with
+     * the middle element of each range as the root, so every node has
+     * subtrees whose sizes differ by at most one. This runs in O(n) for
+     * sorted input and O(n log n) otherwise, without any per-element
+     * searches or rotations.
+     *
+     * @param data the data to add to the tree
+     * @param balanced whether to build a balanced tree from sorted data
+     * @throws IllegalArgumentException if data or any element in data is null
+     */
+    public AVL(Collection<T> data, boolean balanced) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null");
+        }
+        if (balanced) {
+            List<T> sorted = sortedDistinct(data);
+            root = build(sorted, 0, sorted.size() - 1);
+            size = sorted.size();
+        } else {
+            for (T d : data) {
+                add(d);
+            }
+        }
+    }
+
+    /**
+     * helper method of the balanced constructor, copies the data into a
+     * list in increasing order without duplicates
+     * @param data the data to sort
+     * @return the sorted, distinct data
+     */
+    private List<T> sortedDistinct(Collection<T> data) {
+        List<T> list = new ArrayList<>(data.size());
+        boolean sorted = true;
+        for (T d : data) {
+            if (d == null) {
+                throw new IllegalArgumentException("data cannot be null");
+            }
+            if (!list.isEmpty()
+                && list.get(list.size() - 1).compareTo(d) >= 0) {
+                sorted = false;
+            }
+            list.add(d);
+        }
+        if (sorted) {
+            return list;
+        }
+        // stable, so the first of several equal elements stays first
+        list.sort(null);
+        int n = 0;
+        for (T d : list) {
+            if (n == 0 || list.get(n - 1).compareTo(d) != 0) {
+                list.set(n++, d);
+            }
+        }
+        return list.subList(0, n);
+    }
+
+    /**
+     * helper method of the balanced constructor, builds a balanced subtree
+     * from a range of sorted data; recursion depth is O(log n)
+     * @param sorted the sorted, distinct data
+     * @param lo the first index of the range
+     * @param hi the last index of the range
+     * @return the root of the subtree, or null if the range is empty
+     */
+    private AVLNode<T> build(List<T> sorted, int lo, int hi) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        AVLNode<T> node = new AVLNode<>(sorted.get(mid));
+        node.setLeft(build(sorted, lo, mid - 1));
+        node.setRight(build(sorted, mid + 1, hi));
+        node.setSize(getSize(node.getLeft()) + getSize(node.getRight())
+            + 1);
+        node.setHeight(Math.max(getHeight(node.getLeft()),
+            getHeight(node.getRight())) + 1);
+        node.setBalanceFactor(getHeight(node.getLeft())
+            - getHeight(node.getRight()));
+        return node;
+    }
+
     /**
      * Add the data to the AVL. Start by adding it as a leaf and rotate the tree
      * as needed. Should traverse the tree to find the appropriate location.
@@ -70,6 +167,7 @@ public class AVL<T extends Comparable<? super T>> {
     private AVLNode<T> addHelp(AVLNode<T> t, T data) {
         if (t == null) {
             size++;
+            modCount++;
             t = new AVLNode<T>(data);
         }
         if (data.compareTo(t.getData()) < 0) {
@@ -85,6 +183,8 @@ public class AVL<T extends Comparable<? super T>> {
         }
         t.setHeight(Math.max(getHeight(t.getRight()),
             getHeight(t.getLeft())) + 1);
+        t.setSize(getSize(t.getLeft())
+            + getSize(t.getRight()) + 1);
         t.setBalanceFactor(getHeight(t.getLeft())
             - getHeight(t.getRight()));
         return t;
@@ -158,6 +258,8 @@ public class AVL<T extends Comparable<? super T>> {
             t.setLeft(removeHelp(t.getLeft(), data, n));
             t.setHeight(Math.max(getHeight(t.getRight()),
                 getHeight(t.getLeft())) + 1);
+            t.setSize(getSize(t.getLeft())
+                + getSize(t.getRight()) + 1);
             t.setBalanceFactor(getHeight(t.getLeft()) 
                 - getHeight(t.getRight()));
             t = balance(t);
@@ -166,18 +268,22 @@ public class AVL<T extends Comparable<? super T>> {
             t.setRight(removeHelp(t.getRight(), data, n));
             t.setHeight(Math.max(getHeight(t.getRight()),
                 getHeight(t.getLeft())) + 1);
+            t.setSize(getSize(t.getLeft())
+                + getSize(t.getRight()) + 1);
             t.setBalanceFactor(getHeight(t.getLeft())
                 - getHeight(t.getRight()));
             t = balance(t);
         } else {
             if (t.getLeft() == null) {
                 size--;
+                modCount++;
                 n.setData(t.getData());
                 t.setBalanceFactor(getHeight(t.getLeft())
                     - getHeight(t.getRight()));
                 return t.getRight();
             } else if (t.getRight() == null) {
                 size--;
+                modCount++;
                 n.setData(t.getData());
                 t.setBalanceFactor(getHeight(t.getLeft())
                     - getHeight(t.getRight()));
@@ -188,6 +294,8 @@ public class AVL<T extends Comparable<? super T>> {
                 t.setLeft(removeHelp(t.getLeft(), t.getData(), none));
                 t.setHeight(Math.max(getHeight(t.getRight()),
                     getHeight(t.getLeft())) + 1);
+                t.setSize(getSize(t.getLeft())
+                    + getSize(t.getRight()) + 1);
                 t.setBalanceFactor(getHeight(t.getLeft())
                     - getHeight(t.getRight()));
                 t = balance(t);
@@ -221,8 +329,12 @@ public class AVL<T extends Comparable<? super T>> {
         t.setRight(node);
         node.setHeight(Math.max(getHeight(node.getRight()),
             getHeight(node.getLeft())) + 1);
+        node.setSize(getSize(node.getLeft())
+            + getSize(node.getRight()) + 1);
         t.setHeight(Math.max(getHeight(t.getRight()),
             getHeight(t.getLeft())) + 1);
+        t.setSize(getSize(t.getLeft())
+            + getSize(t.getRight()) + 1);
         node.setBalanceFactor(getHeight(node.getLeft())
             - getHeight(node.getRight()));
         t.setBalanceFactor(getHeight(t.getLeft()) - getHeight(t.getRight()));
@@ -241,8 +353,12 @@ public class AVL<T extends Comparable<? super T>> {
         t.setLeft(node);
         node.setHeight(Math.max(getHeight(node.getRight()),
             getHeight(node.getLeft())) + 1);
+        node.setSize(getSize(node.getLeft())
+            + getSize(node.getRight()) + 1);
         t.setHeight(Math.max(getHeight(t.getRight()),
             getHeight(t.getLeft())) + 1);
+        t.setSize(getSize(t.getLeft())
+            + getSize(t.getRight()) + 1);
         node.setBalanceFactor(getHeight(node.getLeft())
             - getHeight(node.getRight()));
         t.setBalanceFactor(getHeight(t.getLeft())
@@ -308,6 +424,15 @@ public class AVL<T extends Comparable<? super T>> {
 
     }
     
+    /**
+     * helper method, gets the size of a subtree
+     * @param t the node to be parsed, may be null
+     * @return the number of nodes in the subtree rooted at t
+     */
+    private int getSize(AVLNode<T> t) {
+        return t == null ? 0 : t.getSize();
+    }
+
     /**
      * hepler method of height, gets height recursively
      * @param t the node to be parsed
@@ -387,36 +512,21 @@ public class AVL<T extends Comparable<? super T>> {
      * @return the data in the maximum deepest node or null if the tree is empty
      */
     public T maxDeepestNode() {
-        AVLNode<T> res = find(root);
-        return res.getData();
-    }
-    
-    /**
-     * helper method of maxDeepestNode, runs recursively
-     * @param root the node to be parsed
-     * @return the maxDeepestNode
-     */
-    private AVLNode<T> find(AVLNode<T> root) {
-    	if (root.getLeft() == null && root.getRight() == null) {
-            return root;
-    	} else if (root.getLeft() == null) {
-            return root.getRight();
-    	} else if (root.getRight() == null) {
-            return root.getLeft();
-    	}
-        if (root.getLeft().getHeight() > root.getRight().getHeight()) {
-            return find(root.getLeft());
-        } else if (root.getLeft().getHeight() < root.getRight().getHeight()) {
-            return find(root.getRight());
-        } else {
-            if ((find(root.getRight()).getData()).
-                compareTo((find(root.getLeft())).getData()) > 0) {
-                return find(root.getRight()); 
+        // the deeper side is the one with the greater stored height; on a
+        // tie the right side holds the larger deepest node
+        AVLNode<T> t = root;
+        if (t == null) {
+            return null;
+        }
+        while (t.getLeft() != null || t.getRight() != null) {
+            if (getHeight(t.getRight()) >= getHeight(t.getLeft())) {
+                t = t.getRight();
             } else {
-                return find(root.getLeft());
+                t = t.getLeft();
             }
         }
-    } 
+        return t.getData();
+    }
 
     /**
      * Returns the data of the deepest common ancestor between two nodes with
@@ -488,12 +598,218 @@ public class AVL<T extends Comparable<? super T>> {
         }
     }
 
+    /**
+     * Returns the rank of the data, the number of data in the tree that are
+     * less than it. The data does not have to be in the tree.
+     *
+     * Uses the subtree sizes kept on each node, so it must run in O(log n)
+     * for all cases.
+     *
+     * @throws IllegalArgumentException if the data is null
+     * @param data the data to rank
+     * @return the number of data in the tree less than data
+     */
+    public int rank(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data is null!");
+        }
+        int rank = 0;
+        AVLNode<T> t = root;
+        while (t != null) {
+            int cmp = data.compareTo(t.getData());
+            if (cmp < 0) {
+                t = t.getLeft();
+            } else if (cmp > 0) {
+                rank += getSize(t.getLeft()) + 1;
+                t = t.getRight();
+            } else {
+                return rank + getSize(t.getLeft());
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the data with the given rank, the index-th smallest data in
+     * the tree counting from 0.
+     *
+     * Uses the subtree sizes kept on each node, so it must run in O(log n)
+     * for all cases.
+     *
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or
+     * index >= size
+     * @param index the rank of the data to return
+     * @return the data with that rank
+     */
+    public T select(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index is out of bounds!");
+        }
+        AVLNode<T> t = root;
+        while (true) {
+            int left = getSize(t.getLeft());
+            if (index < left) {
+                t = t.getLeft();
+            } else if (index > left) {
+                index -= left + 1;
+                t = t.getRight();
+            } else {
+                return t.getData();
+            }
+        }
+    }
+
+    /**
+     * Returns the k largest data in the tree, least to greatest.
+     *
+     * Seeks to the (size - k)-th smallest data with select, then walks
+     * forward from it, so it must run in O(log n + k) for all cases.
+     *
+     * @throws java.lang.IllegalArgumentException if k < 0 or k > size
+     * @param k the number of largest data to return
+     * @return sorted list consisting of the k largest data
+     */
+    public List<T> kLargest(int k) {
+        if (k < 0 || k > size) {
+            throw new IllegalArgumentException("k is out of range!");
+        }
+        List<T> list = new ArrayList<>(k);
+        if (k > 0) {
+            for (T data : tailSet(select(size - k))) {
+                list.add(data);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Returns an iterator over the data in the tree in sorted order. Nodes
+     * are visited lazily, so the iterator holds O(height) nodes rather than
+     * a copy of the whole tree, and the first element is ready in O(height).
+     *
+     * The iterator is fail-fast: it throws a
+     * ConcurrentModificationException if the tree is structurally modified
+     * after it was created. It does not support remove.
+     *
+     * @return an in-order iterator over the tree
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new RangeIterator(null, null);
+    }
+
+    /**
+     * Returns a view of the data that is at least {@code from} and less
+     * than {@code to}, iterated lazily in sorted order. Each iteration
+     * first skips to {@code from} in O(height) time.
+     *
+     * @throws java.lang.IllegalArgumentException if from or to is null, or
+     * from is greater than to
+     * @param from the lowest data to include
+     * @param to the data to stop before
+     * @return an Iterable over the data in [from, to)
+     */
+    public Iterable<T> range(T from, T to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("bounds cannot be null!");
+        }
+        if (from.compareTo(to) > 0) {
+            throw new IllegalArgumentException(
+                "from cannot be greater than to!");
+        }
+        return () -> new RangeIterator(from, to);
+    }
+
+    /**
+     * Returns a view of the data less than {@code to}, iterated lazily in
+     * sorted order.
+     *
+     * @throws java.lang.IllegalArgumentException if to is null
+     * @param to the data to stop before
+     * @return an Iterable over the data less than to
+     */
+    public Iterable<T> headSet(T to) {
+        if (to == null) {
+            throw new IllegalArgumentException("bound cannot be null!");
+        }
+        return () -> new RangeIterator(null, to);
+    }
+
+    /**
+     * Returns a view of the data that is at least {@code from}, iterated
+     * lazily in sorted order.
+     *
+     * @throws java.lang.IllegalArgumentException if from is null
+     * @param from the lowest data to include
+     * @return an Iterable over the data at least from
+     */
+    public Iterable<T> tailSet(T from) {
+        if (from == null) {
+            throw new IllegalArgumentException("bound cannot be null!");
+        }
+        return () -> new RangeIterator(from, null);
+    }
+
+    /**
+     * An in-order iterator over the data in [from, to). The stack holds the
+     * nodes whose data has not been returned yet but whose left subtree has,
+     * deepest on top.
+     */
+    private class RangeIterator implements Iterator<T> {
+        private final T to;
+        private final int expectedModCount = modCount;
+        private final Deque<AVLNode<T>> stack = new ArrayDeque<>();
+
+        /**
+         * Creates an iterator positioned at the first data not less than
+         * from.
+         *
+         * @param from the lowest data to include, or null for no lower bound
+         * @param to the data to stop before, or null for no upper bound
+         */
+        RangeIterator(T from, T to) {
+            this.to = to;
+            AVLNode<T> curr = root;
+            while (curr != null) {
+                if (from != null && curr.getData().compareTo(from) < 0) {
+                    curr = curr.getRight();
+                } else {
+                    stack.push(curr);
+                    curr = curr.getLeft();
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty()
+                && (to == null || stack.peek().getData().compareTo(to) < 0);
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException("no more data!");
+            }
+            AVLNode<T> node = stack.pop();
+            for (AVLNode<T> curr = node.getRight(); curr != null;
+                 curr = curr.getLeft()) {
+                stack.push(curr);
+            }
+            return node.getData();
+        }
+    }
+
     /**
      * Clear the tree.
      */
     public void clear() {
     	root = null;
         size = 0;
+        modCount++;
     }
 
     /**
@@ -2,12 +2,23 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * These tests are not exhaustive.
@@ -18,6 +29,9 @@ public class AVLStudentTests {
     private static final int TIMEOUT = 200;
     private AVL<Integer> avlTree;
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Before
     public void setup() {
         avlTree = new AVL<>();
@@ -228,4 +242,256 @@ public class AVLStudentTests {
         assertNull(avlTree.getRoot());
         assertEquals(0, avlTree.size());
     }
+
+    @Test(timeout = TIMEOUT)
+    public void testLazyIteratorAndRanges() {
+        for (int i = 0; i < 20; i += 2) {
+            avlTree.add(i);
+        }
+        List<Integer> seen = new ArrayList<>();
+        for (int data : avlTree) {
+            seen.add(data);
+        }
+        assertEquals(Arrays.asList(0, 2, 4, 6, 8, 10, 12, 14, 16,
+            18), seen);
+
+        seen.clear();
+        for (int data : avlTree.range(5, 12)) {
+            seen.add(data);
+        }
+        assertEquals(Arrays.asList(6, 8, 10), seen);
+
+        seen.clear();
+        avlTree.headSet(4).forEach(seen::add);
+        avlTree.tailSet(16).forEach(seen::add);
+        assertEquals(Arrays.asList(0, 2, 16, 18), seen);
+
+        Iterator<Integer> it = avlTree.range(19, 30).iterator();
+        assertEquals(false, it.hasNext());
+
+        it = avlTree.iterator();
+        assertEquals((Integer) 0, it.next());
+        avlTree.add(1);
+        try {
+            it.next();
+            fail();
+        } catch (ConcurrentModificationException e) {
+            assertEquals(11, avlTree.size());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRankAndSelect() {
+        for (int i : new int[] {50, 25, 75, 12, 37, 10, 15, 40, 13}) {
+            avlTree.add(i);
+        }
+        assertEquals(9, avlTree.getRoot().getSize());
+        assertEquals(0, avlTree.rank(10));
+        assertEquals(4, avlTree.rank(25));
+        assertEquals(4, avlTree.rank(20));
+        assertEquals(9, avlTree.rank(100));
+        assertEquals((Integer) 10, avlTree.select(0));
+        assertEquals((Integer) 37, avlTree.select(5));
+        assertEquals((Integer) 75, avlTree.select(8));
+
+        avlTree.remove(25);
+        assertEquals(8, avlTree.getRoot().getSize());
+        assertEquals(4, avlTree.rank(37));
+        assertEquals((Integer) 37, avlTree.select(4));
+        assertEquals(Arrays.asList(40, 50, 75),
+            avlTree.kLargest(3));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testBalancedBulkLoad() {
+        List<Integer> data = new ArrayList<>();
+        for (int i = 0; i < 1023; i++) {
+            data.add(i);
+        }
+        avlTree = new AVL<>(data, true);
+        assertEquals(1023, avlTree.size());
+        assertEquals(9, avlTree.height());
+        assertEquals((Integer) 511, avlTree.getRoot().getData());
+        assertEquals(1023, avlTree.getRoot().getSize());
+        assertEquals(8, avlTree.getRoot().getLeft().getHeight());
+        assertEquals(0, avlTree.getRoot().getBalanceFactor());
+
+        // unsorted input with duplicates is sorted and deduplicated
+        avlTree = new AVL<>(Arrays.asList(5, 3, 9, 3, 1, 5), true);
+        assertEquals(4, avlTree.size());
+        assertEquals((Integer) 3, avlTree.getRoot().getData());
+        assertEquals(Arrays.asList(1, 3, 5, 9), avlTree.kLargest(4));
+        assertEquals(2, avlTree.height());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPersistentAVLSnapshots() {
+        PersistentAVL<Integer> tree = new PersistentAVL<>();
+        for (int i = 1; i <= 7; i++) {
+            tree.add(i);
+        }
+        AVLNode<Integer> before = tree.getRoot();
+        Iterator<Integer> snapshot = tree.iterator();
+        assertEquals(2, tree.height());
+
+        tree.add(8);
+        assertEquals((Integer) 4, tree.remove(4));
+        assertEquals(7, tree.size());
+        assertEquals(false, tree.contains(4));
+        assertEquals((Integer) 8, tree.get(8));
+
+        // the old version is untouched and still shares the left subtree
+        assertEquals((Integer) 4, before.getData());
+        assertEquals(7, before.getSize());
+        assertEquals(null, before.getRight().getRight().getRight());
+        assertSame(before.getLeft().getLeft(),
+            tree.getRoot().getLeft().getLeft());
+        for (int i = 1; i <= 7; i++) {
+            assertEquals((Integer) i, snapshot.next());
+        }
+        assertEquals(false, snapshot.hasNext());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMaxDeepestNodeLargeTree() {
+        assertNull(avlTree.maxDeepestNode());
+
+        // a perfect tree ties at every level, which used to take
+        // exponential time
+        List<Integer> data = new ArrayList<>();
+        for (int i = 0; i < (1 << 16) - 1; i++) {
+            data.add(i);
+        }
+        avlTree = new AVL<>(data, true);
+        assertEquals((Integer) ((1 << 16) - 2), avlTree.maxDeepestNode());
+
+        avlTree.remove((1 << 16) - 2);
+        avlTree.remove((1 << 16) - 4);
+        assertEquals((Integer) ((1 << 16) - 6), avlTree.maxDeepestNode());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testConcurrentAVL() throws InterruptedException {
+        ConcurrentAVL<Integer> tree = new ConcurrentAVL<>();
+        Thread[] threads = new Thread[4];
+        Throwable[] failure = new Throwable[threads.length];
+        for (int i = 0; i < threads.length; i++) {
+            int id = i;
+            threads[i] = new Thread(() -> {
+                // each thread adds its own keys in sorted order, then
+                // removes every other one
+                try {
+                    for (int k = id; k < 2000; k += threads.length) {
+                        tree.add(k);
+                    }
+                    for (int k = id; k < 2000; k += 2 * threads.length) {
+                        tree.remove(k);
+                    }
+                } catch (Throwable e) {
+                    failure[id] = e;
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (Throwable e : failure) {
+            assertNull(e);
+        }
+
+        assertEquals(1000, tree.size());
+        for (int k = 0; k < 2000; k++) {
+            assertEquals(k % 8 >= 4, tree.contains(k));
+        }
+        assertEquals((Integer) 5, tree.get(5));
+        assertTrue(tree.height() <= 15);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testBPlusTree() {
+        BPlusTree<Integer> tree = new BPlusTree<>(4);
+        assertEquals(-1, tree.height());
+        for (int i = 0; i < 100; i++) {
+            tree.add(i);
+        }
+        tree.add(50);
+        assertEquals(100, tree.size());
+        assertTrue(tree.height() >= 3 && tree.height() <= 6);
+        assertTrue(tree.contains(99));
+        assertEquals((Integer) 42, tree.get(42));
+
+        List<Integer> scanned = new ArrayList<>();
+        for (int data : tree.range(10, 15)) {
+            scanned.add(data);
+        }
+        assertEquals(Arrays.asList(10, 11, 12, 13, 14), scanned);
+
+        for (int i = 0; i < 100; i += 2) {
+            assertEquals((Integer) i, tree.remove(i));
+        }
+        assertEquals(50, tree.size());
+        List<Integer> odd = new ArrayList<>();
+        for (int i = 1; i < 100; i += 2) {
+            odd.add(i);
+        }
+        assertEquals(odd, tree.inorder());
+
+        for (int i = 1; i < 100; i += 2) {
+            tree.remove(i);
+        }
+        assertEquals(0, tree.size());
+        assertEquals(-1, tree.height());
+        assertEquals(false, tree.iterator().hasNext());
+    }
+
+    @Test(timeout = 10000)
+    public void testDiskBPlusTree() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("index");
+        Path copy = folder.getRoot().toPath().resolve("crashed");
+        DiskBPlusTree tree = new DiskBPlusTree(file, 64, 4);
+        try {
+            for (long i = 0; i < 100; i++) {
+                tree.add(i, i * 10);
+            }
+            tree.add(7, -7);
+            assertEquals(100, tree.size());
+            assertEquals(-7, tree.get(7));
+            tree.close();
+
+            tree = new DiskBPlusTree(file, 64, 4);
+            assertEquals(100, tree.size());
+            assertEquals(420, tree.get(42));
+            for (long i = 0; i < 100; i += 2) {
+                assertEquals(i * 10, tree.remove(i));
+            }
+            assertEquals(false, tree.contains(50));
+
+            // copying the files while the tree is open is what a crash leaves
+            Files.copy(file, copy);
+            Files.copy(file.resolveSibling("index.wal"),
+                copy.resolveSibling("crashed.wal"));
+        } finally {
+            tree.close();
+        }
+
+        try {
+            new DiskBPlusTree(copy, 4096, 4).close();
+            fail();
+        } catch (IOException e) {
+            assertTrue(Files.size(copy.resolveSibling("crashed.wal")) > 0);
+        }
+        DiskBPlusTree recovered = new DiskBPlusTree(copy, 64, 4);
+        try {
+            assertEquals(50, recovered.size());
+            List<Long> scanned = new ArrayList<>();
+            for (Map.Entry<Long, Long> e : recovered.range(10, 20)) {
+                scanned.add(e.getKey());
+            }
+            assertEquals(Arrays.asList(11L, 13L, 15L, 17L, 19L), scanned);
+            assertEquals(-7, recovered.get(7));
+        } finally {
+            recovered.close();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,614 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Your implementation of a B+ tree.
+ *
+ * It holds the same kind of data as AVL, but each node stores up to
+ * {@code order - 1} keys in one sorted array, and an internal node has up
+ * to {@code order} children. A lookup therefore binary searches a few
+ * contiguous arrays, one per level, instead of chasing one pointer per
+ * comparison, and the tree is only about log base order/2 of n levels
+ * deep. All data lives in the leaves; the keys in internal nodes only
+ * route searches. The leaves are linked left to right, so in-order walks
+ * and range scans move along the leaf level without going back up.
+ *
+ * Nodes other than the root never drop below {@code (order - 1) / 2}
+ * keys: a removal that would go lower borrows a key from a sibling, or
+ * merges with it when the sibling has none to spare.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class BPlusTree<T extends Comparable<? super T>>
+    implements Iterable<T> {
+
+    /**
+     * The default largest number of children of an internal node.
+     */
+    public static final int DEFAULT_ORDER = 64;
+
+    private final int order;
+    private final int minKeys;
+    private Node root;
+    private int size;
+
+    /**
+     * Constructs a new, empty BPlusTree of order {@code DEFAULT_ORDER}.
+     */
+    public BPlusTree() {
+        this(DEFAULT_ORDER);
+    }
+
+    /**
+     * Constructs a new, empty BPlusTree whose internal nodes have at most
+     * {@code order} children and whose leaves hold at most
+     * {@code order - 1} data.
+     *
+     * @param order the largest number of children of an internal node
+     * @throws java.lang.IllegalArgumentException if order < 3
+     */
+    public BPlusTree(int order) {
+        if (order < 3) {
+            throw new IllegalArgumentException("order must be at least 3!");
+        }
+        this.order = order;
+        this.minKeys = (order - 1) / 2;
+        root = new Node(order, true);
+    }
+
+    /**
+     * Adds the data to the tree. If the data is already in the tree,
+     * nothing is done.
+     *
+     * Must run in O(order * log n) for all cases, with O(log n) of it spent
+     * on comparisons.
+     *
+     * @throws java.lang.IllegalArgumentException if the data is null
+     * @param data the data to be added
+     */
+    public void add(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        Split split = insert(root, data);
+        if (split != null) {
+            Node newRoot = new Node(order, false);
+            newRoot.keys[0] = split.key;
+            newRoot.children[0] = root;
+            newRoot.children[1] = split.right;
+            newRoot.count = 1;
+            root = newRoot;
+        }
+    }
+
+    /**
+     * Removes the data from the tree.
+     *
+     * Must run in O(order * log n) for all cases, with O(log n) of it spent
+     * on comparisons.
+     *
+     * @throws java.lang.IllegalArgumentException if the data is null
+     * @throws java.util.NoSuchElementException if the data is not found
+     * @param data the data to remove from the tree
+     * @return the data removed from the tree
+     */
+    public T remove(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        T removed = delete(root, data);
+        if (!root.leaf && root.count == 0) {
+            root = root.children[0];
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the data in the tree equal to the parameter.
+     *
+     * Must run in O(log n) for all cases.
+     *
+     * @throws java.lang.IllegalArgumentException if the data is null
+     * @throws java.util.NoSuchElementException if the data is not found
+     * @param data the data to search for in the tree
+     * @return the data in the tree equal to the parameter
+     */
+    @SuppressWarnings("unchecked")
+    public T get(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        Node leaf = findLeaf(data);
+        int index = search(leaf, data);
+        if (index < 0) {
+            throw new NoSuchElementException("data is not found!");
+        }
+        return (T) leaf.keys[index];
+    }
+
+    /**
+     * Returns whether or not the data is in the tree.
+     *
+     * Must run in O(log n) for all cases.
+     *
+     * @throws java.lang.IllegalArgumentException if the data is null
+     * @param data the data to search for in the tree
+     * @return whether or not the data is in the tree
+     */
+    public boolean contains(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        return search(findLeaf(data), data) >= 0;
+    }
+
+    /**
+     * Returns the data in the tree in sorted order, read along the linked
+     * leaves.
+     *
+     * Must run in O(n).
+     *
+     * @return an inorder traversal of the tree
+     */
+    public List<T> inorder() {
+        List<T> list = new ArrayList<>(size);
+        for (T data : this) {
+            list.add(data);
+        }
+        return list;
+    }
+
+    /**
+     * Returns an iterator over the data in the tree in sorted order. It
+     * walks the linked leaves, so it holds only its current leaf.
+     *
+     * The iterator does not detect changes to the tree made while it is in
+     * use, and does not support remove.
+     *
+     * @return an in-order iterator over the tree
+     */
+    @Override
+    public Iterator<T> iterator() {
+        Node leaf = root;
+        while (!leaf.leaf) {
+            leaf = leaf.children[0];
+        }
+        return new LeafIterator(leaf, 0, null);
+    }
+
+    /**
+     * Returns a view of the data that is at least {@code from} and less
+     * than {@code to}, iterated lazily in sorted order. Each iteration
+     * descends once to the leaf holding {@code from} and then walks the
+     * linked leaves.
+     *
+     * @throws java.lang.IllegalArgumentException if from or to is null, or
+     * from is greater than to
+     * @param from the lowest data to include
+     * @param to the data to stop before
+     * @return an Iterable over the data in [from, to)
+     */
+    public Iterable<T> range(T from, T to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("bounds cannot be null!");
+        }
+        if (from.compareTo(to) > 0) {
+            throw new IllegalArgumentException(
+                "from cannot be greater than to!");
+        }
+        return () -> {
+            Node leaf = findLeaf(from);
+            int index = search(leaf, from);
+            return new LeafIterator(leaf, index < 0 ? -index - 1 : index, to);
+        };
+    }
+
+    /**
+     * Clears the tree.
+     */
+    public void clear() {
+        root = new Node(order, true);
+        size = 0;
+    }
+
+    /**
+     * Returns the height of the tree, the number of edges from the root to
+     * any leaf, since every leaf is at the same depth.
+     *
+     * Must run in O(log n) for all cases.
+     *
+     * @return the height of the tree, -1 if the tree is empty
+     */
+    public int height() {
+        if (size == 0) {
+            return -1;
+        }
+        int height = 0;
+        for (Node node = root; !node.leaf; node = node.children[0]) {
+            height++;
+        }
+        return height;
+    }
+
+    /**
+     * Returns the number of data in the tree.
+     *
+     * @return the number of elements in the tree
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the largest number of children of an internal node.
+     *
+     * @return the order of the tree
+     */
+    public int getOrder() {
+        return order;
+    }
+
+    /**
+     * helper method, descends to the only leaf that can hold the data
+     * @param data the data to search for
+     * @return the leaf
+     */
+    private Node findLeaf(T data) {
+        Node node = root;
+        while (!node.leaf) {
+            node = node.children[childIndex(node, data)];
+        }
+        return node;
+    }
+
+    /**
+     * helper method, binary searches the keys of a node
+     * @param node the node to search
+     * @param data the data to search for
+     * @return the index of the data, or (-(insertion point) - 1) if it is
+     * not there
+     */
+    private int search(Node node, T data) {
+        return Arrays.binarySearch(node.keys, 0, node.count, data);
+    }
+
+    /**
+     * helper method, picks the child of an internal node to descend into;
+     * child i holds the data from keys[i - 1] up to but not including
+     * keys[i]
+     * @param node the internal node
+     * @param data the data to search for
+     * @return the index of the child
+     */
+    private int childIndex(Node node, T data) {
+        int index = search(node, data);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * helper method of add, inserts below a node and splits it if it
+     * overflows
+     * @param node the root of the subtree
+     * @param data the data to add
+     * @return the split of node, or null if it did not split
+     */
+    private Split insert(Node node, T data) {
+        if (node.leaf) {
+            int index = search(node, data);
+            if (index >= 0) {
+                return null;
+            }
+            index = -index - 1;
+            insertAt(node.keys, node.count, index, data);
+            node.count++;
+            size++;
+            return node.count == order ? splitLeaf(node) : null;
+        }
+        int index = childIndex(node, data);
+        Split split = insert(node.children[index], data);
+        if (split == null) {
+            return null;
+        }
+        insertAt(node.keys, node.count, index, split.key);
+        insertAt(node.children, node.count + 1, index + 1, split.right);
+        node.count++;
+        return node.count == order ? splitInternal(node) : null;
+    }
+
+    /**
+     * helper method of insert, moves the upper half of a full leaf into a
+     * new leaf linked after it
+     * @param node the leaf holding order keys
+     * @return the new leaf and its first key as the separator
+     */
+    private Split splitLeaf(Node node) {
+        int mid = order / 2;
+        Node right = new Node(order, true);
+        right.count = order - mid;
+        System.arraycopy(node.keys, mid, right.keys, 0, right.count);
+        Arrays.fill(node.keys, mid, order, null);
+        node.count = mid;
+        right.next = node.next;
+        node.next = right;
+        return new Split(right, right.keys[0]);
+    }
+
+    /**
+     * helper method of insert, moves the keys and children above the
+     * middle key of a full internal node into a new node, and promotes the
+     * middle key
+     * @param node the internal node holding order keys
+     * @return the new internal node and the promoted key
+     */
+    private Split splitInternal(Node node) {
+        int mid = order / 2;
+        Node right = new Node(order, false);
+        right.count = order - mid - 1;
+        System.arraycopy(node.keys, mid + 1, right.keys, 0, right.count);
+        System.arraycopy(node.children, mid + 1, right.children, 0,
+            right.count + 1);
+        Object key = node.keys[mid];
+        Arrays.fill(node.keys, mid, order, null);
+        Arrays.fill(node.children, mid + 1, order + 1, null);
+        node.count = mid;
+        return new Split(right, key);
+    }
+
+    /**
+     * helper method of remove, deletes below a node and fixes any child
+     * that drops under the minimum
+     * @param node the root of the subtree
+     * @param data the data to remove
+     * @return the data removed
+     */
+    @SuppressWarnings("unchecked")
+    private T delete(Node node, T data) {
+        if (node.leaf) {
+            int index = search(node, data);
+            if (index < 0) {
+                throw new NoSuchElementException("data is not found!");
+            }
+            T removed = (T) node.keys[index];
+            removeAt(node.keys, node.count, index);
+            node.count--;
+            size--;
+            return removed;
+        }
+        int index = childIndex(node, data);
+        T removed = delete(node.children[index], data);
+        if (node.children[index].count < minKeys) {
+            rebalance(node, index);
+        }
+        return removed;
+    }
+
+    /**
+     * helper method of delete, refills the child at index from a sibling
+     * that has a key to spare, or merges it with a sibling
+     * @param parent the internal node
+     * @param index the index of the child under the minimum
+     */
+    private void rebalance(Node parent, int index) {
+        Node child = parent.children[index];
+        Node left = index > 0 ? parent.children[index - 1] : null;
+        Node right = index < parent.count ? parent.children[index + 1] : null;
+        if (left != null && left.count > minKeys) {
+            borrowFromLeft(parent, index, left, child);
+        } else if (right != null && right.count > minKeys) {
+            borrowFromRight(parent, index, child, right);
+        } else if (left != null) {
+            merge(parent, index - 1, left, child);
+        } else {
+            merge(parent, index, child, right);
+        }
+    }
+
+    /**
+     * helper method of rebalance, moves the last key of the left sibling
+     * into the child through the parent
+     * @param parent the parent of both nodes
+     * @param index the index of the child
+     * @param left the left sibling
+     * @param child the child under the minimum
+     */
+    private void borrowFromLeft(Node parent, int index, Node left,
+                                Node child) {
+        if (child.leaf) {
+            insertAt(child.keys, child.count, 0, left.keys[left.count - 1]);
+            parent.keys[index - 1] = child.keys[0];
+        } else {
+            insertAt(child.keys, child.count, 0, parent.keys[index - 1]);
+            insertAt(child.children, child.count + 1, 0,
+                left.children[left.count]);
+            left.children[left.count] = null;
+            parent.keys[index - 1] = left.keys[left.count - 1];
+        }
+        left.keys[left.count - 1] = null;
+        left.count--;
+        child.count++;
+    }
+
+    /**
+     * helper method of rebalance, moves the first key of the right sibling
+     * into the child through the parent
+     * @param parent the parent of both nodes
+     * @param index the index of the child
+     * @param child the child under the minimum
+     * @param right the right sibling
+     */
+    private void borrowFromRight(Node parent, int index, Node child,
+                                 Node right) {
+        if (child.leaf) {
+            child.keys[child.count] = right.keys[0];
+            removeAt(right.keys, right.count, 0);
+            parent.keys[index] = right.keys[0];
+        } else {
+            child.keys[child.count] = parent.keys[index];
+            child.children[child.count + 1] = right.children[0];
+            parent.keys[index] = right.keys[0];
+            removeAt(right.keys, right.count, 0);
+            removeAt(right.children, right.count + 1, 0);
+        }
+        right.count--;
+        child.count++;
+    }
+
+    /**
+     * helper method of rebalance, appends the right node to the left node
+     * and drops the separator between them from the parent
+     * @param parent the parent of both nodes
+     * @param index the index of the separator, which is also the index of
+     * the left node
+     * @param left the left node
+     * @param right the right node
+     */
+    private void merge(Node parent, int index, Node left, Node right) {
+        if (left.leaf) {
+            System.arraycopy(right.keys, 0, left.keys, left.count,
+                right.count);
+            left.count += right.count;
+            left.next = right.next;
+        } else {
+            left.keys[left.count] = parent.keys[index];
+            System.arraycopy(right.keys, 0, left.keys, left.count + 1,
+                right.count);
+            System.arraycopy(right.children, 0, left.children, left.count + 1,
+                right.count + 1);
+            left.count += right.count + 1;
+        }
+        removeAt(parent.keys, parent.count, index);
+        removeAt(parent.children, parent.count + 1, index + 1);
+        parent.count--;
+    }
+
+    /**
+     * helper method, shifts arr[index, length) right by one and stores
+     * value at index
+     * @param arr the array, with room for one more element
+     * @param length the number of elements in use
+     * @param index the index to insert at
+     * @param value the value to insert
+     */
+    private static void insertAt(Object[] arr, int length, int index,
+                                 Object value) {
+        System.arraycopy(arr, index, arr, index + 1, length - index);
+        arr[index] = value;
+    }
+
+    /**
+     * helper method, shifts arr[index + 1, length) left by one and clears
+     * the freed slot
+     * @param arr the array
+     * @param length the number of elements in use
+     * @param index the index to remove
+     */
+    private static void removeAt(Object[] arr, int length, int index) {
+        System.arraycopy(arr, index + 1, arr, index, length - index - 1);
+        arr[length - 1] = null;
+    }
+
+    /**
+     * Iterates the leaves from a starting position up to an optional
+     * exclusive bound.
+     */
+    private class LeafIterator implements Iterator<T> {
+        private final T to;
+        private Node leaf;
+        private int index;
+
+        /**
+         * Creates an iterator positioned at a slot of a leaf.
+         *
+         * @param leaf the leaf to start in
+         * @param index the slot to start at, may be past the leaf's end
+         * @param to the data to stop before, or null for no bound
+         */
+        LeafIterator(Node leaf, int index, T to) {
+            this.leaf = leaf;
+            this.index = index;
+            this.to = to;
+            skipExhausted();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean hasNext() {
+            return leaf != null
+                && (to == null || ((T) leaf.keys[index]).compareTo(to) < 0);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("no more data!");
+            }
+            T data = (T) leaf.keys[index++];
+            skipExhausted();
+            return data;
+        }
+
+        /**
+         * helper method, moves to the next non-empty leaf once the current
+         * one is used up
+         */
+        private void skipExhausted() {
+            while (leaf != null && index >= leaf.count) {
+                leaf = leaf.next;
+                index = 0;
+            }
+        }
+    }
+
+    /**
+     * A node of the tree. A leaf keeps its data in {@code keys[0, count)}
+     * and links to the next leaf; an internal node keeps {@code count}
+     * separator keys and {@code count + 1} children. Both arrays have one
+     * spare slot so a node can overflow by one before it is split.
+     */
+    private static final class Node {
+        private final boolean leaf;
+        private final Object[] keys;
+        private final Node[] children;
+        private int count;
+        private Node next;
+
+        /**
+         * Creates an empty node.
+         *
+         * @param order the order of the tree
+         * @param leaf whether the node is a leaf
+         */
+        Node(int order, boolean leaf) {
+            this.leaf = leaf;
+            keys = new Object[order];
+            children = leaf ? null : new Node[order + 1];
+        }
+    }
+
+    /**
+     * The result of splitting a node: the new right sibling and the key
+     * that separates it from the node that was split.
+     */
+    private static final class Split {
+        private final Node right;
+        private final Object key;
+
+        /**
+         * Creates a split result.
+         *
+         * @param right the new right sibling
+         * @param key the separator to insert into the parent
+         */
+        Split(Node right, Object key) {
+            this.right = right;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,1042 @@
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Your implementation of a concurrent, relaxed-balance AVL tree using the
+ * optimistic concurrency of Bronson, Casper, Chafi and Olukotun (2010).
+ *
+ * Readers never lock. Every node carries a version number that a rotation
+ * changes when it moves nodes out of that node's subtree. A search reads
+ * the version of a node before it reads the child it goes to next, and
+ * checks the version again before trusting that child. If a rotation got
+ * in the way, the search retries from the last node that is still valid,
+ * not from the root.
+ *
+ * Writers lock only the nodes they change: an insert locks the new leaf's
+ * parent, an unlink locks the node and its parent, and a rotation locks
+ * the parent, the node and the children that move. Removing a node with
+ * two children only clears its data, leaving a routing node that is
+ * unlinked later, once it has at most one child. Heights are repaired
+ * and rotations done afterwards, bottom-up, one node at a time, so at any
+ * instant the tree may be briefly out of balance, but every finished
+ * operation leaves it balanced again.
+ *
+ * In this class heights count a leaf as 1 and a null child as 0, which
+ * keeps the balance checks free of special cases; height() converts back
+ * to the AVL convention.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class ConcurrentAVL<T extends Comparable<? super T>> {
+
+    private static final long UNLINKED = 1L;
+    private static final long SHRINKING = 2L;
+    private static final int SPIN_COUNT = 100;
+    private static final int YIELD_COUNT = 10;
+
+    private static final int UNLINK_REQUIRED = -1;
+    private static final int REBALANCE_REQUIRED = -2;
+    private static final int NOTHING_REQUIRED = -3;
+
+    private static final Object RETRY = new Object();
+
+    // the root of the tree is the right child of this holder, which is
+    // never rotated, so changing the root takes a lock like any other node
+    private final Node<T> rootHolder = new Node<>(null, null, 1, null);
+    private final LongAdder size = new LongAdder();
+
+    /**
+     * Constructs a new, empty ConcurrentAVL.
+     */
+    public ConcurrentAVL() {
+    }
+
+    /**
+     * Adds the data to the tree. If the data is already in the tree,
+     * nothing is done. Safe to call from any number of threads.
+     *
+     * Runs in O(log n) in the absence of contention.
+     *
+     * @throws java.lang.IllegalArgumentException if the data is null
+     * @param data the data to be added
+     */
+    public void add(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        if (update(data, data) == null) {
+            size.increment();
+        }
+    }
+
+    /**
+     * Removes the data from the tree. Safe to call from any number of
+     * threads.
+     *
+     * Runs in O(log n) in the absence of contention.
+     *
+     * @throws java.lang.IllegalArgumentException if the data is null
+     * @throws java.util.NoSuchElementException if the data is not found
+     * @param data the data to remove from the tree
+     * @return the data removed from the tree
+     */
+    public T remove(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        T removed = update(data, null);
+        if (removed == null) {
+            throw new NoSuchElementException("data is not found!");
+        }
+        size.decrement();
+        return removed;
+    }
+
+    /**
+     * Returns the data in the tree equal to the parameter. Safe to call
+     * from any number of threads, and never locks.
+     *
+     * Runs in O(log n) in the absence of contention.
+     *
+     * @throws java.lang.IllegalArgumentException if the data is null
+     * @throws java.util.NoSuchElementException if the data is not found
+     * @param data the data to search for in the tree
+     * @return the data in the tree equal to the parameter
+     */
+    public T get(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        T found = find(data);
+        if (found == null) {
+            throw new NoSuchElementException("data is not found!");
+        }
+        return found;
+    }
+
+    /**
+     * Returns whether or not the data is in the tree. Safe to call from any
+     * number of threads, and never locks.
+     *
+     * Runs in O(log n) in the absence of contention.
+     *
+     * @throws java.lang.IllegalArgumentException if the data is null
+     * @param data the data to search for in the tree
+     * @return whether or not the data is in the tree
+     */
+    public boolean contains(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        return find(data) != null;
+    }
+
+    /**
+     * Returns the number of data in the tree. When called while other
+     * threads are writing, the result is only an estimate.
+     *
+     * @return the number of elements in the tree
+     */
+    public int size() {
+        return size.intValue();
+    }
+
+    /**
+     * Returns the height of the root of the tree. When called while other
+     * threads are writing, the result is only an estimate.
+     *
+     * Runs in O(1) for all cases.
+     *
+     * @return the height of the root of the tree, -1 if the tree is empty
+     */
+    public int height() {
+        return height(rootHolder.right) - 1;
+    }
+
+    /**
+     * helper method of get and contains, retries from the root until a
+     * search is not invalidated by a rotation
+     * @param key the data to search for
+     * @return the data in the tree, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    private T find(T key) {
+        while (true) {
+            Node<T> root = rootHolder.right;
+            if (root == null) {
+                return null;
+            }
+            int cmp = key.compareTo(root.key);
+            if (cmp == 0) {
+                return root.data;
+            }
+            long ovl = root.shrinkOVL;
+            if (isShrinkingOrUnlinked(ovl)) {
+                root.waitUntilShrinkCompleted(ovl);
+            } else if (root == rootHolder.right) {
+                Object found = attemptGet(key, root, cmp, ovl);
+                if (found != RETRY) {
+                    return (T) found;
+                }
+            }
+        }
+    }
+
+    /**
+     * helper method of find, searches below a node whose version was
+     * nodeOVL when it was reached
+     * @param key the data to search for
+     * @param node the node reached
+     * @param cmp the comparison of key with the node's key
+     * @param nodeOVL the version of the node when it was reached
+     * @return the data found, null if there is none, or RETRY if the node
+     * was moved before the search could leave it
+     */
+    private Object attemptGet(T key, Node<T> node, int cmp, long nodeOVL) {
+        while (true) {
+            Node<T> child = node.child(cmp);
+            if (child == null) {
+                return node.shrinkOVL != nodeOVL ? RETRY : null;
+            }
+            int childCmp = key.compareTo(child.key);
+            if (childCmp == 0) {
+                return child.data;
+            }
+            long childOVL = child.shrinkOVL;
+            if (isShrinkingOrUnlinked(childOVL)) {
+                child.waitUntilShrinkCompleted(childOVL);
+                if (node.shrinkOVL != nodeOVL) {
+                    return RETRY;
+                }
+            } else if (child != node.child(cmp)) {
+                if (node.shrinkOVL != nodeOVL) {
+                    return RETRY;
+                }
+            } else {
+                if (node.shrinkOVL != nodeOVL) {
+                    return RETRY;
+                }
+                Object found = attemptGet(key, child, childCmp, childOVL);
+                if (found != RETRY) {
+                    return found;
+                }
+            }
+        }
+    }
+
+    /**
+     * helper method of add and remove, retries from the root until an
+     * update is not invalidated by a rotation
+     * @param key the data to add or remove
+     * @param newData the data to add, or null to remove
+     * @return the data that was in the tree, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    private T update(T key, T newData) {
+        while (true) {
+            Node<T> root = rootHolder.right;
+            if (root == null) {
+                if (newData == null || attemptInsertIntoEmpty(newData)) {
+                    return null;
+                }
+            } else {
+                long ovl = root.shrinkOVL;
+                if (isShrinkingOrUnlinked(ovl)) {
+                    root.waitUntilShrinkCompleted(ovl);
+                } else if (root == rootHolder.right) {
+                    Object previous = attemptUpdate(key, newData, rootHolder,
+                        root, ovl);
+                    if (previous != RETRY) {
+                        return (T) previous;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * helper method of update, makes the data the root of an empty tree
+     * @param data the data to add
+     * @return true if the tree was still empty; false otherwise
+     */
+    private boolean attemptInsertIntoEmpty(T data) {
+        rootHolder.lock();
+        try {
+            if (rootHolder.right != null) {
+                return false;
+            }
+            rootHolder.right = new Node<>(data, data, 1, rootHolder);
+            return true;
+        } finally {
+            rootHolder.unlock();
+        }
+    }
+
+    /**
+     * helper method of update, searches below a node whose version was
+     * nodeOVL when it was reached, and adds or removes there
+     * @param key the data to add or remove
+     * @param newData the data to add, or null to remove
+     * @param parent the parent of node
+     * @param node the node reached
+     * @param nodeOVL the version of the node when it was reached
+     * @return the data that was in the tree, null if there was none, or
+     * RETRY if the node was moved before the update could leave it
+     */
+    private Object attemptUpdate(T key, T newData, Node<T> parent,
+                                 Node<T> node, long nodeOVL) {
+        int cmp = key.compareTo(node.key);
+        if (cmp == 0) {
+            return attemptNodeUpdate(newData, parent, node);
+        }
+        while (true) {
+            Node<T> child = node.child(cmp);
+            if (node.shrinkOVL != nodeOVL) {
+                return RETRY;
+            }
+            if (child == null) {
+                if (newData == null) {
+                    return null;
+                }
+                boolean inserted = false;
+                Node<T> damaged = null;
+                node.lock();
+                try {
+                    if (node.shrinkOVL != nodeOVL) {
+                        return RETRY;
+                    }
+                    // another insert may have taken the spot first
+                    if (node.child(cmp) == null) {
+                        node.setChild(cmp, new Node<>(key, newData, 1, node));
+                        inserted = true;
+                        damaged = fixHeight(node);
+                    }
+                } finally {
+                    node.unlock();
+                }
+                if (inserted) {
+                    fixHeightAndRebalance(damaged);
+                    return null;
+                }
+            } else {
+                long childOVL = child.shrinkOVL;
+                if (isShrinkingOrUnlinked(childOVL)) {
+                    child.waitUntilShrinkCompleted(childOVL);
+                } else if (child == node.child(cmp)) {
+                    if (node.shrinkOVL != nodeOVL) {
+                        return RETRY;
+                    }
+                    Object previous = attemptUpdate(key, newData, node, child,
+                        childOVL);
+                    if (previous != RETRY) {
+                        return previous;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * helper method of attemptUpdate, adds or removes the data at the node
+     * holding its key
+     * @param newData the data to add, or null to remove
+     * @param parent the parent of node
+     * @param node the node holding the key
+     * @return the data that was in the tree, null if there was none, or
+     * RETRY if the node was moved or unlinked first
+     */
+    private Object attemptNodeUpdate(T newData, Node<T> parent,
+                                     Node<T> node) {
+        if (newData == null) {
+            if (node.data == null) {
+                return null;
+            }
+            if (node.left == null || node.right == null) {
+                // the node can be unlinked, which needs the parent's lock
+                T previous;
+                Node<T> damaged;
+                parent.lock();
+                try {
+                    if (isUnlinked(parent.shrinkOVL) || node.parent != parent) {
+                        return RETRY;
+                    }
+                    node.lock();
+                    try {
+                        previous = node.data;
+                        if (previous == null) {
+                            return null;
+                        }
+                        if (!attemptUnlink(parent, node)) {
+                            return RETRY;
+                        }
+                    } finally {
+                        node.unlock();
+                    }
+                    damaged = fixHeight(parent);
+                } finally {
+                    parent.unlock();
+                }
+                fixHeightAndRebalance(damaged);
+                return previous;
+            }
+        }
+        node.lock();
+        try {
+            if (isUnlinked(node.shrinkOVL)) {
+                return RETRY;
+            }
+            T previous = node.data;
+            if (newData == null) {
+                if (previous == null) {
+                    return null;
+                }
+                // a child was removed since the check above, so unlink now
+                if (node.left == null || node.right == null) {
+                    return RETRY;
+                }
+                node.data = null;
+            } else if (previous == null) {
+                node.data = newData;
+            }
+            return previous;
+        } finally {
+            node.unlock();
+        }
+    }
+
+    /**
+     * helper method, splices out a node with at most one child; both the
+     * parent and the node must be locked
+     * @param parent the parent of node
+     * @param node the node to unlink
+     * @return true if the node was unlinked; false if it is no longer the
+     * parent's child or has two children
+     */
+    private boolean attemptUnlink(Node<T> parent, Node<T> node) {
+        Node<T> parentLeft = parent.left;
+        Node<T> parentRight = parent.right;
+        if (parentLeft != node && parentRight != node) {
+            return false;
+        }
+        Node<T> left = node.left;
+        Node<T> right = node.right;
+        if (left != null && right != null) {
+            return false;
+        }
+        Node<T> splice = left != null ? left : right;
+        if (parentLeft == node) {
+            parent.left = splice;
+        } else {
+            parent.right = splice;
+        }
+        if (splice != null) {
+            splice.parent = parent;
+        }
+        node.shrinkOVL = UNLINKED;
+        node.data = null;
+        return true;
+    }
+
+    /**
+     * helper method, works out what a node needs from a snapshot of its
+     * children; any change since the snapshot is caught under its lock
+     * @param node the node to check
+     * @return UNLINK_REQUIRED, REBALANCE_REQUIRED, NOTHING_REQUIRED, or the
+     * node's correct height if only that is wrong
+     */
+    private int nodeCondition(Node<T> node) {
+        Node<T> left = node.left;
+        Node<T> right = node.right;
+        if ((left == null || right == null) && node.data == null) {
+            return UNLINK_REQUIRED;
+        }
+        int hN = node.height;
+        int hL = height(left);
+        int hR = height(right);
+        int bal = hL - hR;
+        if (bal < -1 || bal > 1) {
+            return REBALANCE_REQUIRED;
+        }
+        int hNRepl = 1 + Math.max(hL, hR);
+        return hN != hNRepl ? hNRepl : NOTHING_REQUIRED;
+    }
+
+    /**
+     * helper method, repairs heights, routing nodes and balance from a
+     * damaged node up towards the root, stopping once nothing changes
+     * @param node the lowest damaged node, may be null
+     */
+    private void fixHeightAndRebalance(Node<T> node) {
+        // a repair below a parent can finish without reaching it again, so
+        // each parent is revisited once the repair below it is done
+        Deque<Node<T>> pending = null;
+        while (true) {
+            if (node == null || node.parent == null) {
+                if (pending == null || pending.isEmpty()) {
+                    return;
+                }
+                node = pending.pop();
+                continue;
+            }
+            int condition = nodeCondition(node);
+            if (condition == NOTHING_REQUIRED || isUnlinked(node.shrinkOVL)) {
+                node = null;
+                continue;
+            }
+            Node<T> n = node;
+            if (condition != UNLINK_REQUIRED
+                && condition != REBALANCE_REQUIRED) {
+                n.lock();
+                try {
+                    node = fixHeight(n);
+                } finally {
+                    n.unlock();
+                }
+            } else {
+                Node<T> parent = n.parent;
+                parent.lock();
+                try {
+                    if (!isUnlinked(parent.shrinkOVL) && n.parent == parent) {
+                        n.lock();
+                        try {
+                            node = rebalance(parent, n);
+                        } finally {
+                            n.unlock();
+                        }
+                        if (pending == null) {
+                            pending = new ArrayDeque<>();
+                        }
+                        pending.push(parent);
+                    }
+                } finally {
+                    parent.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * helper method, corrects the height of a locked node if that is all
+     * it needs
+     * @param node the locked node
+     * @return the next node to repair, or null if there is none
+     */
+    private Node<T> fixHeight(Node<T> node) {
+        int condition = nodeCondition(node);
+        if (condition == REBALANCE_REQUIRED || condition == UNLINK_REQUIRED) {
+            return node;
+        } else if (condition == NOTHING_REQUIRED) {
+            return null;
+        }
+        node.height = condition;
+        return node.parent;
+    }
+
+    /**
+     * helper method, unlinks or rotates a locked node whose locked parent
+     * is nParent
+     * @param nParent the parent of n
+     * @param n the node to repair
+     * @return the next node to repair, or null if there is none
+     */
+    private Node<T> rebalance(Node<T> nParent, Node<T> n) {
+        Node<T> nL = n.left;
+        Node<T> nR = n.right;
+        if ((nL == null || nR == null) && n.data == null) {
+            return attemptUnlink(nParent, n) ? fixHeight(nParent) : n;
+        }
+        int hN = n.height;
+        int hL0 = height(nL);
+        int hR0 = height(nR);
+        int hNRepl = 1 + Math.max(hL0, hR0);
+        int bal = hL0 - hR0;
+        if (bal > 1) {
+            return rebalanceToRight(nParent, n, nL, hR0);
+        } else if (bal < -1) {
+            return rebalanceToLeft(nParent, n, nR, hL0);
+        } else if (hNRepl != hN) {
+            n.height = hNRepl;
+            return fixHeight(nParent);
+        }
+        return null;
+    }
+
+    /**
+     * helper method of rebalance, fixes a node whose left side is too tall
+     * with a single or double right rotation
+     * @param nParent the locked parent of n
+     * @param n the locked node
+     * @param nL the left child of n
+     * @param hR0 the height of n's right child
+     * @return the next node to repair
+     */
+    private Node<T> rebalanceToRight(Node<T> nParent, Node<T> n, Node<T> nL,
+                                     int hR0) {
+        nL.lock();
+        try {
+            int hL = nL.height;
+            if (hL - hR0 <= 1) {
+                return n;
+            }
+            Node<T> nLR = nL.right;
+            int hLL0 = height(nL.left);
+            int hLR0 = height(nLR);
+            if (hLL0 >= hLR0) {
+                return rotateRight(nParent, n, nL, hR0, hLL0, nLR, hLR0);
+            }
+            nLR.lock();
+            try {
+                int hLR = nLR.height;
+                if (hLL0 >= hLR) {
+                    return rotateRight(nParent, n, nL, hR0, hLL0, nLR, hLR);
+                }
+                int hLRL = height(nLR.left);
+                int b = hLL0 - hLRL;
+                // a double rotation only if it leaves nL undamaged
+                if (b >= -1 && b <= 1
+                    && !((hLL0 == 0 || hLRL == 0) && nL.data == null)) {
+                    return rotateRightOverLeft(nParent, n, nL, hR0, hLL0, nLR,
+                        hLRL);
+                }
+                // rotate nL on its own instead, so any damage to it stays
+                // on the path being repaired; n is rebalanced after that
+                return rotateLeft(n, nL, hLL0, nLR, nLR.left, hLRL,
+                    height(nLR.right));
+            } finally {
+                nLR.unlock();
+            }
+        } finally {
+            nL.unlock();
+        }
+    }
+
+    /**
+     * helper method of rebalance, fixes a node whose right side is too
+     * tall with a single or double left rotation
+     * @param nParent the locked parent of n
+     * @param n the locked node
+     * @param nR the right child of n
+     * @param hL0 the height of n's left child
+     * @return the next node to repair
+     */
+    private Node<T> rebalanceToLeft(Node<T> nParent, Node<T> n, Node<T> nR,
+                                    int hL0) {
+        nR.lock();
+        try {
+            int hR = nR.height;
+            if (hL0 - hR >= -1) {
+                return n;
+            }
+            Node<T> nRL = nR.left;
+            int hRL0 = height(nRL);
+            int hRR0 = height(nR.right);
+            if (hRR0 >= hRL0) {
+                return rotateLeft(nParent, n, hL0, nR, nRL, hRL0, hRR0);
+            }
+            nRL.lock();
+            try {
+                int hRL = nRL.height;
+                if (hRR0 >= hRL) {
+                    return rotateLeft(nParent, n, hL0, nR, nRL, hRL, hRR0);
+                }
+                int hRLR = height(nRL.right);
+                int b = hRR0 - hRLR;
+                // a double rotation only if it leaves nR undamaged
+                if (b >= -1 && b <= 1
+                    && !((hRR0 == 0 || hRLR == 0) && nR.data == null)) {
+                    return rotateLeftOverRight(nParent, n, hL0, nR, nRL, hRR0,
+                        hRLR);
+                }
+                // rotate nR on its own instead, so any damage to it stays
+                // on the path being repaired; n is rebalanced after that
+                return rotateRight(n, nR, nRL, hRR0, height(nRL.left),
+                    nRL.right, hRLR);
+            } finally {
+                nRL.unlock();
+            }
+        } finally {
+            nR.unlock();
+        }
+    }
+
+    /**
+     * performs right rotation of n under nParent, with n, nParent and nL
+     * locked; n's subtree shrinks, so its version changes
+     * @param nParent the parent of n
+     * @param n the node to rotate down
+     * @param nL the left child of n, which takes its place
+     * @param hR the height of n's right child
+     * @param hLL the height of nL's left child
+     * @param nLR the right child of nL, which moves under n
+     * @param hLR the height of nLR
+     * @return the next node to repair, or null if there is none
+     */
+    private Node<T> rotateRight(Node<T> nParent, Node<T> n, Node<T> nL,
+                                int hR, int hLL, Node<T> nLR, int hLR) {
+        long nodeOVL = n.shrinkOVL;
+        Node<T> nPL = nParent.left;
+        n.shrinkOVL = beginChange(nodeOVL);
+
+        n.left = nLR;
+        if (nLR != null) {
+            nLR.parent = n;
+        }
+        nL.right = n;
+        n.parent = nL;
+        if (nPL == n) {
+            nParent.left = nL;
+        } else {
+            nParent.right = nL;
+        }
+        nL.parent = nParent;
+
+        int hNRepl = 1 + Math.max(hLR, hR);
+        n.height = hNRepl;
+        nL.height = 1 + Math.max(hLL, hNRepl);
+        n.shrinkOVL = endChange(nodeOVL);
+
+        // n is the deepest damaged node, then nL, then nParent
+        int balN = hLR - hR;
+        if (balN < -1 || balN > 1) {
+            return n;
+        }
+        if ((nLR == null || hR == 0) && n.data == null) {
+            return n;
+        }
+        int balL = hLL - hNRepl;
+        if (balL < -1 || balL > 1) {
+            return nL;
+        }
+        if (hLL == 0 && nL.data == null) {
+            return nL;
+        }
+        return fixHeight(nParent);
+    }
+
+    /**
+     * performs left rotation of n under nParent, with n, nParent and nR
+     * locked; n's subtree shrinks, so its version changes
+     * @param nParent the parent of n
+     * @param n the node to rotate down
+     * @param hL the height of n's left child
+     * @param nR the right child of n, which takes its place
+     * @param nRL the left child of nR, which moves under n
+     * @param hRL the height of nRL
+     * @param hRR the height of nR's right child
+     * @return the next node to repair, or null if there is none
+     */
+    private Node<T> rotateLeft(Node<T> nParent, Node<T> n, int hL, Node<T> nR,
+                               Node<T> nRL, int hRL, int hRR) {
+        long nodeOVL = n.shrinkOVL;
+        Node<T> nPL = nParent.left;
+        n.shrinkOVL = beginChange(nodeOVL);
+
+        n.right = nRL;
+        if (nRL != null) {
+            nRL.parent = n;
+        }
+        nR.left = n;
+        n.parent = nR;
+        if (nPL == n) {
+            nParent.left = nR;
+        } else {
+            nParent.right = nR;
+        }
+        nR.parent = nParent;
+
+        int hNRepl = 1 + Math.max(hL, hRL);
+        n.height = hNRepl;
+        nR.height = 1 + Math.max(hNRepl, hRR);
+        n.shrinkOVL = endChange(nodeOVL);
+
+        // n is the deepest damaged node, then nR, then nParent
+        int balN = hRL - hL;
+        if (balN < -1 || balN > 1) {
+            return n;
+        }
+        if ((nRL == null || hL == 0) && n.data == null) {
+            return n;
+        }
+        int balR = hRR - hNRepl;
+        if (balR < -1 || balR > 1) {
+            return nR;
+        }
+        if (hRR == 0 && nR.data == null) {
+            return nR;
+        }
+        return fixHeight(nParent);
+    }
+
+    /**
+     * performs left-right rotation, lifting nLR above nL and n, with
+     * nParent, n, nL and nLR locked; n and nL both shrink
+     * @param nParent the parent of n
+     * @param n the node to rotate down
+     * @param nL the left child of n
+     * @param hR the height of n's right child
+     * @param hLL the height of nL's left child
+     * @param nLR the right child of nL, which takes n's place
+     * @param hLRL the height of nLR's left child
+     * @return the next node to repair, or null if there is none
+     */
+    private Node<T> rotateRightOverLeft(Node<T> nParent, Node<T> n,
+                                        Node<T> nL, int hR, int hLL,
+                                        Node<T> nLR, int hLRL) {
+        long nodeOVL = n.shrinkOVL;
+        long leftOVL = nL.shrinkOVL;
+        Node<T> nPL = nParent.left;
+        Node<T> nLRL = nLR.left;
+        Node<T> nLRR = nLR.right;
+        int hLRR = height(nLRR);
+        n.shrinkOVL = beginChange(nodeOVL);
+        nL.shrinkOVL = beginChange(leftOVL);
+
+        n.left = nLRR;
+        if (nLRR != null) {
+            nLRR.parent = n;
+        }
+        nL.right = nLRL;
+        if (nLRL != null) {
+            nLRL.parent = nL;
+        }
+        nLR.left = nL;
+        nL.parent = nLR;
+        nLR.right = n;
+        n.parent = nLR;
+        if (nPL == n) {
+            nParent.left = nLR;
+        } else {
+            nParent.right = nLR;
+        }
+        nLR.parent = nParent;
+
+        int hNRepl = 1 + Math.max(hLRR, hR);
+        n.height = hNRepl;
+        int hLRepl = 1 + Math.max(hLL, hLRL);
+        nL.height = hLRepl;
+        nLR.height = 1 + Math.max(hLRepl, hNRepl);
+        n.shrinkOVL = endChange(nodeOVL);
+        nL.shrinkOVL = endChange(leftOVL);
+
+        // the caller made sure nL is left undamaged
+        int balN = hLRR - hR;
+        if (balN < -1 || balN > 1) {
+            return n;
+        }
+        if ((nLRR == null || hR == 0) && n.data == null) {
+            return n;
+        }
+        int balLR = hLRepl - hNRepl;
+        if (balLR < -1 || balLR > 1) {
+            return nLR;
+        }
+        return fixHeight(nParent);
+    }
+
+    /**
+     * performs right-left rotation, lifting nRL above n and nR, with
+     * nParent, n, nR and nRL locked; n and nR both shrink
+     * @param nParent the parent of n
+     * @param n the node to rotate down
+     * @param hL the height of n's left child
+     * @param nR the right child of n
+     * @param nRL the left child of nR, which takes n's place
+     * @param hRR the height of nR's right child
+     * @param hRLR the height of nRL's right child
+     * @return the next node to repair, or null if there is none
+     */
+    private Node<T> rotateLeftOverRight(Node<T> nParent, Node<T> n, int hL,
+                                        Node<T> nR, Node<T> nRL, int hRR,
+                                        int hRLR) {
+        long nodeOVL = n.shrinkOVL;
+        long rightOVL = nR.shrinkOVL;
+        Node<T> nPL = nParent.left;
+        Node<T> nRLL = nRL.left;
+        Node<T> nRLR = nRL.right;
+        int hRLL = height(nRLL);
+        n.shrinkOVL = beginChange(nodeOVL);
+        nR.shrinkOVL = beginChange(rightOVL);
+
+        n.right = nRLL;
+        if (nRLL != null) {
+            nRLL.parent = n;
+        }
+        nR.left = nRLR;
+        if (nRLR != null) {
+            nRLR.parent = nR;
+        }
+        nRL.right = nR;
+        nR.parent = nRL;
+        nRL.left = n;
+        n.parent = nRL;
+        if (nPL == n) {
+            nParent.left = nRL;
+        } else {
+            nParent.right = nRL;
+        }
+        nRL.parent = nParent;
+
+        int hNRepl = 1 + Math.max(hL, hRLL);
+        n.height = hNRepl;
+        int hRRepl = 1 + Math.max(hRLR, hRR);
+        nR.height = hRRepl;
+        nRL.height = 1 + Math.max(hNRepl, hRRepl);
+        n.shrinkOVL = endChange(nodeOVL);
+        nR.shrinkOVL = endChange(rightOVL);
+
+        // the caller made sure nR is left undamaged
+        int balN = hRLL - hL;
+        if (balN < -1 || balN > 1) {
+            return n;
+        }
+        if ((nRLL == null || hL == 0) && n.data == null) {
+            return n;
+        }
+        int balRL = hRRepl - hNRepl;
+        if (balRL < -1 || balRL > 1) {
+            return nRL;
+        }
+        return fixHeight(nParent);
+    }
+
+    /**
+     * helper method, gets the height of a subtree
+     * @param node the node, may be null
+     * @return the height, counting a leaf as 1 and null as 0
+     */
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * helper method, marks a version as being in the middle of a shrink
+     * @param ovl the version before the shrink
+     * @return the version during the shrink
+     */
+    private static long beginChange(long ovl) {
+        return ovl | SHRINKING;
+    }
+
+    /**
+     * helper method, clears the shrinking bit and bumps the version
+     * @param ovl the version before the shrink
+     * @return the version after the shrink
+     */
+    private static long endChange(long ovl) {
+        return (ovl | SHRINKING) + SHRINKING;
+    }
+
+    /**
+     * helper method, checks a version for a shrink in progress
+     * @param ovl the version
+     * @return whether a shrink is in progress
+     */
+    private static boolean isShrinking(long ovl) {
+        return (ovl & SHRINKING) != 0;
+    }
+
+    /**
+     * helper method, checks a version for an unlinked node
+     * @param ovl the version
+     * @return whether the node has been unlinked
+     */
+    private static boolean isUnlinked(long ovl) {
+        return (ovl & UNLINKED) != 0;
+    }
+
+    /**
+     * helper method, checks a version for either a shrink or an unlink
+     * @param ovl the version
+     * @return whether the node is shrinking or unlinked
+     */
+    private static boolean isShrinkingOrUnlinked(long ovl) {
+        return (ovl & (SHRINKING | UNLINKED)) != 0;
+    }
+
+    /**
+     * A node of the tree, and the lock that guards changes to its fields.
+     * {@code data} is null in a routing node whose data was removed.
+     */
+    private static final class Node<T> extends ReentrantLock {
+        private static final long serialVersionUID = 1L;
+
+        private final T key;
+        private volatile T data;
+        private volatile int height;
+        private volatile long shrinkOVL;
+        private volatile Node<T> parent;
+        private volatile Node<T> left;
+        private volatile Node<T> right;
+
+        /**
+         * Creates an unlinked leaf.
+         *
+         * @param key the key the node is ordered by
+         * @param data the data stored in the node
+         * @param height the height of the node
+         * @param parent the parent of the node
+         */
+        Node(T key, T data, int height, Node<T> parent) {
+            this.key = key;
+            this.data = data;
+            this.height = height;
+            this.parent = parent;
+        }
+
+        /**
+         * Returns the child on one side.
+         *
+         * @param cmp negative for the left child, positive for the right
+         * @return the child on that side
+         */
+        Node<T> child(int cmp) {
+            return cmp < 0 ? left : right;
+        }
+
+        /**
+         * Sets the child on one side; the node must be locked.
+         *
+         * @param cmp negative for the left child, positive for the right
+         * @param child the new child
+         */
+        void setChild(int cmp, Node<T> child) {
+            if (cmp < 0) {
+                left = child;
+            } else {
+                right = child;
+            }
+        }
+
+        /**
+         * Waits for a shrink that was in progress at version ovl to finish,
+         * spinning briefly, then yielding, and finally blocking on the lock
+         * the shrinking thread holds.
+         *
+         * @param ovl the version that was read
+         */
+        void waitUntilShrinkCompleted(long ovl) {
+            if (!isShrinking(ovl)) {
+                return;
+            }
+            for (int i = 0; i < SPIN_COUNT; i++) {
+                if (shrinkOVL != ovl) {
+                    return;
+                }
+            }
+            for (int i = 0; i < YIELD_COUNT; i++) {
+                Thread.yield();
+                if (shrinkOVL != ovl) {
+                    return;
+                }
+            }
+            lock();
+            unlock();
+        }
+    }
+}
@@ -0,0 +1,1067 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32;
+
+/**
+ * Your implementation of a persistent B+ tree stored in a file.
+ *
+ * It is the on-disk counterpart of BPlusTree, mapping long keys to long
+ * values, for example the offset of each record in a data file. The file
+ * is an array of fixed-size pages: page 0 holds the tree's metadata and
+ * every other page is a leaf, an internal node, or a free page waiting to
+ * be reused. Opening an existing file only reads page 0; nodes are read
+ * on demand.
+ *
+ * Pages are read into an LRU page cache of decoded nodes. Each add or
+ * remove logs the images of every page it changed, plus the metadata, to
+ * a write-ahead log next to the file as one checksummed batch, and forces
+ * the log before returning. Changed pages stay in the cache and reach the
+ * data file only when they are evicted or at a checkpoint, which writes
+ * every dirty page, forces the data file and empties the log. A page is
+ * never evicted in the middle of an operation, so the data file only ever
+ * holds pages from completed operations. After a crash, opening the file
+ * replays every complete batch in the log and ignores a torn last one, so
+ * the tree comes back exactly as it was after the last completed add or
+ * remove.
+ *
+ * This class is not thread-safe. Once add or remove has thrown anything
+ * other than NoSuchElementException, the pages in the cache may hold half
+ * of that operation, so every later call except close throws
+ * IllegalStateException, and close drops the cache without checkpointing.
+ * Reopening the file then recovers the tree from the log.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class DiskBPlusTree implements Closeable {
+
+    /**
+     * The default size of a page in bytes.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 4096;
+
+    /**
+     * The default number of pages kept in the page cache.
+     */
+    public static final int DEFAULT_CACHE_PAGES = 256;
+
+    private static final int MAGIC = 0x42505431;
+    private static final int LOG_MAGIC = 0x42505457;
+    private static final int LOG_HEADER = 8;
+    private static final int HEADER = 16;
+    private static final byte LEAF = 1;
+    private static final byte INTERNAL = 2;
+    private static final byte FREE = 3;
+    // page 0 is the metadata, so no node or link ever points at it
+    private static final long NONE = 0;
+    private static final long COMMIT = -1;
+    private static final int CHECKPOINT_PAGES = 1024;
+
+    private final FileChannel data;
+    private final FileChannel log;
+    private final int pageSize;
+    private final int leafCapacity;
+    private final int internalCapacity;
+    private final int cachePages;
+    private final Map<Long, Page> cache = new LinkedHashMap<>(16, 0.75f,
+        true);
+    // pages changed by the current operation, not yet in the log
+    private final Map<Long, Page> touched = new LinkedHashMap<>();
+    private long root;
+    private long pageCount;
+    private long freeHead;
+    private long size;
+    private boolean failed;
+
+    /**
+     * Opens the tree stored at path, creating it if the file does not
+     * exist, with {@code DEFAULT_PAGE_SIZE} pages and a cache of
+     * {@code DEFAULT_CACHE_PAGES} pages.
+     *
+     * @param path the data file; the log is the same path plus ".wal"
+     * @throws java.io.IOException if the files cannot be opened or are not
+     * a tree with this page size
+     */
+    public DiskBPlusTree(Path path) throws IOException {
+        this(path, DEFAULT_PAGE_SIZE, DEFAULT_CACHE_PAGES);
+    }
+
+    /**
+     * Opens the tree stored at path, creating it if the file does not
+     * exist, and replays any operations left in its log by a crash. The log
+     * and the file are checked against pageSize before anything is
+     * replayed, and a log written with another page size is left as is.
+     *
+     * @param path the data file; the log is the same path plus ".wal"
+     * @param pageSize the size of a page in bytes
+     * @param cachePages the number of pages kept in the page cache
+     * @throws java.lang.IllegalArgumentException if path is null, pageSize
+     * is less than 64 or not a multiple of 8, or cachePages < 1
+     * @throws java.io.IOException if the files cannot be opened or are not
+     * a tree with this page size
+     */
+    public DiskBPlusTree(Path path, int pageSize, int cachePages)
+        throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("path cannot be null!");
+        }
+        if (pageSize < 64 || pageSize % 8 != 0) {
+            throw new IllegalArgumentException(
+                "pageSize must be a multiple of 8 of at least 64!");
+        }
+        if (cachePages < 1) {
+            throw new IllegalArgumentException(
+                "cachePages must be positive!");
+        }
+        this.pageSize = pageSize;
+        this.cachePages = cachePages;
+        leafCapacity = (pageSize - HEADER) / 16;
+        internalCapacity = (pageSize - HEADER - 8) / 16;
+        data = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        log = FileChannel.open(path.resolveSibling(path.getFileName()
+            + ".wal"), StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            recover();
+            if (data.size() == 0) {
+                Page leaf = new Page(1, LEAF, leafCapacity);
+                root = leaf.id;
+                pageCount = 2;
+                freeHead = NONE;
+                cache.put(leaf.id, leaf);
+                touch(leaf);
+                commit();
+            } else {
+                readMeta();
+            }
+        } catch (IOException | RuntimeException e) {
+            data.close();
+            log.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Maps the key to the value. If the key is already in the tree its
+     * value is replaced.
+     *
+     * Reads and writes O(log n) pages, and forces the log once.
+     *
+     * @param key the key
+     * @param value the value
+     * @throws java.io.IOException if the tree cannot be read or written
+     */
+    public void add(long key, long value) throws IOException {
+        checkUsable();
+        try {
+            Split split = insert(load(root), key, value);
+            if (split != null) {
+                Page newRoot = allocate(INTERNAL);
+                newRoot.keys[0] = split.key;
+                newRoot.values[0] = root;
+                newRoot.values[1] = split.right.id;
+                newRoot.count = 1;
+                root = newRoot.id;
+            }
+            commit();
+        } catch (IOException | RuntimeException | Error e) {
+            failed = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Removes the key from the tree.
+     *
+     * Reads and writes O(log n) pages, and forces the log once.
+     *
+     * @param key the key
+     * @return the value the key was mapped to
+     * @throws java.util.NoSuchElementException if the key is not found
+     * @throws java.io.IOException if the tree cannot be read or written
+     */
+    public long remove(long key) throws IOException {
+        checkUsable();
+        try {
+            long removed = delete(load(root), key);
+            Page top = load(root);
+            if (top.type == INTERNAL && top.count == 0) {
+                root = top.values[0];
+                free(top);
+            }
+            commit();
+            return removed;
+        } catch (NoSuchElementException e) {
+            // thrown before anything was changed
+            trimCache();
+            throw e;
+        } catch (IOException | RuntimeException | Error e) {
+            failed = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the value the key is mapped to.
+     *
+     * Reads O(log n) pages.
+     *
+     * @param key the key
+     * @return the value of the key
+     * @throws java.util.NoSuchElementException if the key is not found
+     * @throws java.io.IOException if the tree cannot be read
+     */
+    public long get(long key) throws IOException {
+        checkUsable();
+        Page leaf = findLeaf(key);
+        int index = Arrays.binarySearch(leaf.keys, 0, leaf.count, key);
+        trimCache();
+        if (index < 0) {
+            throw new NoSuchElementException("key is not found!");
+        }
+        return leaf.values[index];
+    }
+
+    /**
+     * Returns whether or not the key is in the tree.
+     *
+     * Reads O(log n) pages.
+     *
+     * @param key the key
+     * @return whether or not the key is in the tree
+     * @throws java.io.IOException if the tree cannot be read
+     */
+    public boolean contains(long key) throws IOException {
+        checkUsable();
+        Page leaf = findLeaf(key);
+        boolean found = Arrays.binarySearch(leaf.keys, 0, leaf.count, key)
+            >= 0;
+        trimCache();
+        return found;
+    }
+
+    /**
+     * Returns a view of the entries whose keys are at least {@code from}
+     * and less than {@code to}, iterated lazily in key order along the
+     * linked leaves.
+     *
+     * The iterator does not detect changes to the tree made while it is in
+     * use, and throws java.io.UncheckedIOException if a page cannot be
+     * read.
+     *
+     * @param from the lowest key to include
+     * @param to the key to stop before
+     * @return an Iterable over the entries with keys in [from, to)
+     * @throws java.lang.IllegalArgumentException if from > to
+     */
+    public Iterable<Map.Entry<Long, Long>> range(long from, long to) {
+        if (from > to) {
+            throw new IllegalArgumentException(
+                "from cannot be greater than to!");
+        }
+        return () -> {
+            checkUsable();
+            try {
+                Page leaf = findLeaf(from);
+                int index = Arrays.binarySearch(leaf.keys, 0, leaf.count,
+                    from);
+                return new RangeIterator(leaf, index < 0 ? -index - 1 : index,
+                    to);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    /**
+     * Returns the number of keys in the tree.
+     *
+     * @return the number of keys in the tree
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Writes every dirty page to the data file, forces it, and empties the
+     * log. This is done automatically whenever the log grows past
+     * {@code CHECKPOINT_PAGES} pages, and on close.
+     *
+     * @throws java.io.IOException if the files cannot be written
+     */
+    public void checkpoint() throws IOException {
+        checkUsable();
+        ByteBuffer buffer = ByteBuffer.allocate(pageSize);
+        for (Page page : cache.values()) {
+            if (page.dirty) {
+                writePage(page.id, encode(page, buffer));
+                page.dirty = false;
+            }
+        }
+        writePage(0, encodeMeta(buffer));
+        data.force(true);
+        log.truncate(0);
+        log.force(true);
+    }
+
+    /**
+     * Checkpoints the tree and closes its files. If an add or remove has
+     * failed, the cache is dropped instead, leaving the log to be replayed
+     * when the file is next opened.
+     *
+     * @throws java.io.IOException if the files cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!failed) {
+                checkpoint();
+            }
+        } finally {
+            cache.clear();
+            touched.clear();
+            failed = true;
+            data.close();
+            log.close();
+        }
+    }
+
+    /**
+     * helper method, refuses to use a tree whose cache may hold part of a
+     * failed operation, or that has been closed
+     */
+    private void checkUsable() {
+        if (failed) {
+            throw new IllegalStateException(
+                "tree must be reopened after a failure or close!");
+        }
+    }
+
+    /**
+     * helper method, descends to the only leaf that can hold the key
+     * @param key the key
+     * @return the leaf
+     * @throws java.io.IOException if a page cannot be read
+     */
+    private Page findLeaf(long key) throws IOException {
+        Page node = load(root);
+        while (node.type != LEAF) {
+            node = load(node.values[childIndex(node, key)]);
+        }
+        return node;
+    }
+
+    /**
+     * helper method, picks the child of an internal node to descend into;
+     * child i holds the keys from keys[i - 1] up to but not including
+     * keys[i]
+     * @param node the internal node
+     * @param key the key
+     * @return the index of the child
+     */
+    private int childIndex(Page node, long key) {
+        int index = Arrays.binarySearch(node.keys, 0, node.count, key);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * helper method of add, inserts below a node and splits it if it
+     * overflows; only the nodes that change are marked as changed, so an
+     * add without a split logs just the leaf and the metadata
+     * @param node the root of the subtree
+     * @param key the key
+     * @param value the value
+     * @return the split of node, or null if it did not split
+     * @throws java.io.IOException if a page cannot be read
+     */
+    private Split insert(Page node, long key, long value) throws IOException {
+        if (node.type == LEAF) {
+            int index = Arrays.binarySearch(node.keys, 0, node.count, key);
+            if (index >= 0) {
+                if (node.values[index] != value) {
+                    touch(node);
+                    node.values[index] = value;
+                }
+                return null;
+            }
+            touch(node);
+            index = -index - 1;
+            insertAt(node.keys, node.count, index, key);
+            insertAt(node.values, node.count, index, value);
+            node.count++;
+            size++;
+            return node.count > leafCapacity ? splitLeaf(node) : null;
+        }
+        int index = childIndex(node, key);
+        Split split = insert(load(node.values[index]), key, value);
+        if (split == null) {
+            return null;
+        }
+        touch(node);
+        insertAt(node.keys, node.count, index, split.key);
+        insertAt(node.values, node.count + 1, index + 1, split.right.id);
+        node.count++;
+        return node.count > internalCapacity ? splitInternal(node) : null;
+    }
+
+    /**
+     * helper method of insert, moves the upper half of an overfull leaf
+     * into a new leaf linked after it
+     * @param node the overfull leaf
+     * @return the new leaf and its first key as the separator
+     * @throws java.io.IOException if a free page cannot be read
+     */
+    private Split splitLeaf(Page node) throws IOException {
+        Page right = allocate(LEAF);
+        int mid = node.count / 2;
+        right.count = node.count - mid;
+        System.arraycopy(node.keys, mid, right.keys, 0, right.count);
+        System.arraycopy(node.values, mid, right.values, 0, right.count);
+        node.count = mid;
+        right.next = node.next;
+        node.next = right.id;
+        return new Split(right, right.keys[0]);
+    }
+
+    /**
+     * helper method of insert, moves the keys and children above the
+     * middle key of an overfull internal node into a new node, and
+     * promotes the middle key
+     * @param node the overfull internal node
+     * @return the new internal node and the promoted key
+     * @throws java.io.IOException if a free page cannot be read
+     */
+    private Split splitInternal(Page node) throws IOException {
+        Page right = allocate(INTERNAL);
+        int mid = node.count / 2;
+        right.count = node.count - mid - 1;
+        System.arraycopy(node.keys, mid + 1, right.keys, 0, right.count);
+        System.arraycopy(node.values, mid + 1, right.values, 0,
+            right.count + 1);
+        node.count = mid;
+        return new Split(right, node.keys[mid]);
+    }
+
+    /**
+     * helper method of remove, deletes below a node and fixes any child
+     * that drops under the minimum
+     * @param node the root of the subtree
+     * @param key the key
+     * @return the value the key was mapped to
+     * @throws java.io.IOException if a page cannot be read
+     */
+    private long delete(Page node, long key) throws IOException {
+        if (node.type == LEAF) {
+            int index = Arrays.binarySearch(node.keys, 0, node.count, key);
+            if (index < 0) {
+                throw new NoSuchElementException("key is not found!");
+            }
+            touch(node);
+            long removed = node.values[index];
+            removeAt(node.keys, node.count, index);
+            removeAt(node.values, node.count, index);
+            node.count--;
+            size--;
+            return removed;
+        }
+        int index = childIndex(node, key);
+        Page child = load(node.values[index]);
+        long removed = delete(child, key);
+        if (child.count < minKeys(child)) {
+            rebalance(node, index, child);
+        }
+        return removed;
+    }
+
+    /**
+     * helper method, the fewest keys a node other than the root may have
+     * @param node the node
+     * @return the minimum number of keys
+     */
+    private int minKeys(Page node) {
+        return (node.type == LEAF ? leafCapacity : internalCapacity) / 2;
+    }
+
+    /**
+     * helper method of delete, refills the child at index from a sibling
+     * that has a key to spare, or merges it with a sibling
+     * @param parent the internal node
+     * @param index the index of the child under the minimum
+     * @param child the child under the minimum
+     * @throws java.io.IOException if a page cannot be read
+     */
+    private void rebalance(Page parent, int index, Page child)
+        throws IOException {
+        touch(parent);
+        touch(child);
+        Page left = index > 0 ? load(parent.values[index - 1]) : null;
+        Page right = index < parent.count ? load(parent.values[index + 1])
+            : null;
+        if (left != null && left.count > minKeys(left)) {
+            touch(left);
+            borrowFromLeft(parent, index, left, child);
+        } else if (right != null && right.count > minKeys(right)) {
+            touch(right);
+            borrowFromRight(parent, index, child, right);
+        } else if (left != null) {
+            touch(left);
+            merge(parent, index - 1, left, child);
+        } else {
+            touch(right);
+            merge(parent, index, child, right);
+        }
+    }
+
+    /**
+     * helper method of rebalance, moves the last entry of the left sibling
+     * into the child through the parent
+     * @param parent the parent of both nodes
+     * @param index the index of the child
+     * @param left the left sibling
+     * @param child the child under the minimum
+     */
+    private void borrowFromLeft(Page parent, int index, Page left,
+                                Page child) {
+        if (child.type == LEAF) {
+            insertAt(child.keys, child.count, 0, left.keys[left.count - 1]);
+            insertAt(child.values, child.count, 0,
+                left.values[left.count - 1]);
+            parent.keys[index - 1] = child.keys[0];
+        } else {
+            insertAt(child.keys, child.count, 0, parent.keys[index - 1]);
+            insertAt(child.values, child.count + 1, 0,
+                left.values[left.count]);
+            parent.keys[index - 1] = left.keys[left.count - 1];
+        }
+        left.count--;
+        child.count++;
+    }
+
+    /**
+     * helper method of rebalance, moves the first entry of the right
+     * sibling into the child through the parent
+     * @param parent the parent of both nodes
+     * @param index the index of the child
+     * @param child the child under the minimum
+     * @param right the right sibling
+     */
+    private void borrowFromRight(Page parent, int index, Page child,
+                                 Page right) {
+        if (child.type == LEAF) {
+            child.keys[child.count] = right.keys[0];
+            child.values[child.count] = right.values[0];
+            removeAt(right.keys, right.count, 0);
+            removeAt(right.values, right.count, 0);
+            parent.keys[index] = right.keys[0];
+        } else {
+            child.keys[child.count] = parent.keys[index];
+            child.values[child.count + 1] = right.values[0];
+            parent.keys[index] = right.keys[0];
+            removeAt(right.keys, right.count, 0);
+            removeAt(right.values, right.count + 1, 0);
+        }
+        right.count--;
+        child.count++;
+    }
+
+    /**
+     * helper method of rebalance, appends the right node to the left node,
+     * drops the separator between them from the parent and frees the right
+     * node's page
+     * @param parent the parent of both nodes
+     * @param index the index of the separator, which is also the index of
+     * the left node
+     * @param left the left node
+     * @param right the right node
+     */
+    private void merge(Page parent, int index, Page left, Page right) {
+        if (left.type == LEAF) {
+            System.arraycopy(right.keys, 0, left.keys, left.count,
+                right.count);
+            System.arraycopy(right.values, 0, left.values, left.count,
+                right.count);
+            left.count += right.count;
+            left.next = right.next;
+        } else {
+            left.keys[left.count] = parent.keys[index];
+            System.arraycopy(right.keys, 0, left.keys, left.count + 1,
+                right.count);
+            System.arraycopy(right.values, 0, left.values, left.count + 1,
+                right.count + 1);
+            left.count += right.count + 1;
+        }
+        removeAt(parent.keys, parent.count, index);
+        removeAt(parent.values, parent.count + 1, index + 1);
+        parent.count--;
+        free(right);
+    }
+
+    /**
+     * helper method, takes a page from the free list, or a new page at the
+     * end of the file, and makes it an empty node
+     * @param type LEAF or INTERNAL
+     * @return the new node, already marked as changed
+     * @throws java.io.IOException if the free page cannot be read
+     */
+    private Page allocate(byte type) throws IOException {
+        long id;
+        if (freeHead != NONE) {
+            id = freeHead;
+            freeHead = load(id).next;
+        } else {
+            id = pageCount++;
+        }
+        Page page = new Page(id, type,
+            type == LEAF ? leafCapacity : internalCapacity);
+        cache.put(id, page);
+        touch(page);
+        return page;
+    }
+
+    /**
+     * helper method, pushes a page that is no longer part of the tree onto
+     * the free list
+     * @param page the page to free
+     */
+    private void free(Page page) {
+        touch(page);
+        page.type = FREE;
+        page.count = 0;
+        page.next = freeHead;
+        freeHead = page.id;
+    }
+
+    /**
+     * helper method, records that the current operation changed a page
+     * @param page the page
+     */
+    private void touch(Page page) {
+        page.dirty = true;
+        touched.put(page.id, page);
+    }
+
+    /**
+     * helper method, gets a page from the cache, or reads and decodes it
+     * from the data file; the cache is only trimmed between operations,
+     * so pages returned during an operation stay valid until it ends
+     * @param id the page number
+     * @return the page
+     * @throws java.io.IOException if the page cannot be read
+     */
+    private Page load(long id) throws IOException {
+        Page page = cache.get(id);
+        if (page == null) {
+            ByteBuffer buffer = readPage(id);
+            byte type = buffer.get(0);
+            page = new Page(id, type,
+                type == LEAF ? leafCapacity : internalCapacity);
+            page.count = buffer.getInt(4);
+            page.next = buffer.getLong(8);
+            if (type == LEAF) {
+                for (int i = 0; i < page.count; i++) {
+                    page.keys[i] = buffer.getLong(HEADER + 16 * i);
+                    page.values[i] = buffer.getLong(HEADER + 16 * i + 8);
+                }
+            } else if (type == INTERNAL) {
+                page.values[0] = buffer.getLong(HEADER);
+                for (int i = 0; i < page.count; i++) {
+                    page.keys[i] = buffer.getLong(HEADER + 16 * i + 8);
+                    page.values[i + 1] = buffer.getLong(HEADER + 16 * i + 16);
+                }
+            }
+            cache.put(id, page);
+        }
+        return page;
+    }
+
+    /**
+     * helper method, encodes a page into its on-disk form
+     * @param page the page
+     * @param buffer a buffer of pageSize bytes to encode into
+     * @return the buffer, positioned at 0
+     */
+    private ByteBuffer encode(Page page, ByteBuffer buffer) {
+        buffer.clear();
+        Arrays.fill(buffer.array(), (byte) 0);
+        buffer.put(0, page.type);
+        buffer.putInt(4, page.count);
+        buffer.putLong(8, page.next);
+        if (page.type == LEAF) {
+            for (int i = 0; i < page.count; i++) {
+                buffer.putLong(HEADER + 16 * i, page.keys[i]);
+                buffer.putLong(HEADER + 16 * i + 8, page.values[i]);
+            }
+        } else if (page.type == INTERNAL) {
+            buffer.putLong(HEADER, page.values[0]);
+            for (int i = 0; i < page.count; i++) {
+                buffer.putLong(HEADER + 16 * i + 8, page.keys[i]);
+                buffer.putLong(HEADER + 16 * i + 16, page.values[i + 1]);
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * helper method, encodes the metadata page
+     * @param buffer a buffer of pageSize bytes to encode into
+     * @return the buffer, positioned at 0
+     */
+    private ByteBuffer encodeMeta(ByteBuffer buffer) {
+        buffer.clear();
+        Arrays.fill(buffer.array(), (byte) 0);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, pageSize);
+        buffer.putLong(8, root);
+        buffer.putLong(16, pageCount);
+        buffer.putLong(24, freeHead);
+        buffer.putLong(32, size);
+        return buffer;
+    }
+
+    /**
+     * helper method, reads the metadata page of an existing file
+     * @throws java.io.IOException if the file is not a tree with this page
+     * size
+     */
+    private void readMeta() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(40);
+        if (data.size() < buffer.capacity()) {
+            throw new IOException("file is not a B+ tree!");
+        }
+        readFully(data, buffer, 0);
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("file is not a B+ tree!");
+        }
+        if (buffer.getInt(4) != pageSize) {
+            throw new IOException("file has a page size of "
+                + buffer.getInt(4) + "!");
+        }
+        root = buffer.getLong(8);
+        pageCount = buffer.getLong(16);
+        freeHead = buffer.getLong(24);
+        size = buffer.getLong(32);
+    }
+
+    /**
+     * helper method, appends the pages changed by the current operation
+     * and the metadata to the log as one batch and forces it, then trims
+     * the cache; an operation that changed nothing writes nothing. An
+     * empty log first gets a header recording the page size, so recover
+     * can tell a log it must not parse.
+     * @throws java.io.IOException if the log cannot be written
+     */
+    private void commit() throws IOException {
+        if (touched.isEmpty()) {
+            trimCache();
+            return;
+        }
+        long position = log.size();
+        int header = position == 0 ? LOG_HEADER : 0;
+        ByteBuffer page = ByteBuffer.allocate(pageSize);
+        ByteBuffer batch = ByteBuffer.allocate(
+            header + (touched.size() + 1) * (8 + pageSize) + 24);
+        if (header > 0) {
+            batch.putInt(LOG_MAGIC).putInt(pageSize);
+        }
+        batch.putLong(0).put(encodeMeta(page));
+        for (Page p : touched.values()) {
+            batch.putLong(p.id).put(encode(p, page));
+        }
+        CRC32 crc = new CRC32();
+        crc.update(batch.array(), header, batch.position() - header);
+        batch.putLong(COMMIT).putLong(touched.size() + 1)
+            .putLong(crc.getValue());
+        batch.flip();
+        while (batch.hasRemaining()) {
+            position += log.write(batch, position);
+        }
+        log.force(false);
+        touched.clear();
+        if (log.size() > (long) CHECKPOINT_PAGES * pageSize) {
+            checkpoint();
+        }
+        trimCache();
+    }
+
+    /**
+     * helper method, replays every complete batch in the log into the data
+     * file, then empties the log; a torn or corrupt batch ends the replay.
+     * A log whose header does not match this tree is left untouched.
+     * @throws java.io.IOException if the files cannot be read or written,
+     * or the log was written with another page size
+     */
+    private void recover() throws IOException {
+        long length = log.size();
+        long position = LOG_HEADER;
+        if (length >= LOG_HEADER) {
+            ByteBuffer header = ByteBuffer.allocate(LOG_HEADER);
+            readFully(log, header, 0);
+            if (header.getInt(0) != LOG_MAGIC) {
+                throw new IOException("log is not a B+ tree log!");
+            }
+            if (header.getInt(4) != pageSize) {
+                throw new IOException("log has a page size of "
+                    + header.getInt(4) + "!");
+            }
+        }
+        long applied = 0;
+        ByteBuffer id = ByteBuffer.allocate(8);
+        Map<Long, ByteBuffer> batch = new LinkedHashMap<>();
+        CRC32 crc = new CRC32();
+        while (position + 8 <= length) {
+            id.clear();
+            readFully(log, id, position);
+            position += 8;
+            long pageId = id.getLong(0);
+            if (pageId == COMMIT) {
+                ByteBuffer trailer = ByteBuffer.allocate(16);
+                if (position + 16 > length) {
+                    break;
+                }
+                readFully(log, trailer, position);
+                position += 16;
+                if (trailer.getLong(0) != batch.size()
+                    || trailer.getLong(8) != crc.getValue()) {
+                    break;
+                }
+                for (Map.Entry<Long, ByteBuffer> e : batch.entrySet()) {
+                    writePage(e.getKey(), e.getValue());
+                }
+                applied += batch.size();
+                batch.clear();
+                crc.reset();
+            } else {
+                if (pageId < 0 || position + pageSize > length) {
+                    break;
+                }
+                ByteBuffer image = ByteBuffer.allocate(pageSize);
+                readFully(log, image, position);
+                position += pageSize;
+                crc.update(id.array(), 0, 8);
+                crc.update(image.array(), 0, pageSize);
+                batch.put(pageId, image);
+            }
+        }
+        if (applied > 0) {
+            data.force(true);
+        }
+        if (length > 0) {
+            log.truncate(0);
+            log.force(true);
+        }
+    }
+
+    /**
+     * helper method, evicts least recently used pages until the cache is
+     * back to its capacity, writing dirty ones to the data file; their
+     * images are already in the log
+     * @throws java.io.IOException if a page cannot be written
+     */
+    private void trimCache() throws IOException {
+        if (cache.size() <= cachePages) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(pageSize);
+        Iterator<Page> it = cache.values().iterator();
+        while (cache.size() > cachePages) {
+            Page page = it.next();
+            if (page.dirty) {
+                writePage(page.id, encode(page, buffer));
+            }
+            it.remove();
+        }
+    }
+
+    /**
+     * helper method, reads one page of the data file
+     * @param id the page number
+     * @return a buffer holding the page
+     * @throws java.io.IOException if the page cannot be read
+     */
+    private ByteBuffer readPage(long id) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(pageSize);
+        readFully(data, buffer, id * pageSize);
+        return buffer;
+    }
+
+    /**
+     * helper method, writes one page of the data file
+     * @param id the page number
+     * @param buffer the page, positioned at 0
+     * @throws java.io.IOException if the page cannot be written
+     */
+    private void writePage(long id, ByteBuffer buffer) throws IOException {
+        buffer.rewind();
+        long position = id * pageSize;
+        while (buffer.hasRemaining()) {
+            position += data.write(buffer, position);
+        }
+    }
+
+    /**
+     * helper method, fills a buffer from a file
+     * @param channel the file
+     * @param buffer the buffer to fill
+     * @param position the offset in the file to read from
+     * @throws java.io.IOException if the file ends first
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer,
+                                  long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("file is truncated!");
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * helper method, shifts arr[index, length) right by one and stores
+     * value at index
+     * @param arr the array, with room for one more element
+     * @param length the number of elements in use
+     * @param index the index to insert at
+     * @param value the value to insert
+     */
+    private static void insertAt(long[] arr, int length, int index,
+                                 long value) {
+        System.arraycopy(arr, index, arr, index + 1, length - index);
+        arr[index] = value;
+    }
+
+    /**
+     * helper method, shifts arr[index + 1, length) left by one
+     * @param arr the array
+     * @param length the number of elements in use
+     * @param index the index to remove
+     */
+    private static void removeAt(long[] arr, int length, int index) {
+        System.arraycopy(arr, index + 1, arr, index, length - index - 1);
+    }
+
+    /**
+     * Iterates the leaves from a starting position up to an exclusive
+     * bound, reading each leaf through the page cache.
+     */
+    private final class RangeIterator
+        implements Iterator<Map.Entry<Long, Long>> {
+        private final long to;
+        private Page leaf;
+        private int index;
+
+        /**
+         * Creates an iterator positioned at a slot of a leaf.
+         *
+         * @param leaf the leaf to start in
+         * @param index the slot to start at, may be past the leaf's end
+         * @param to the key to stop before
+         */
+        RangeIterator(Page leaf, int index, long to) {
+            this.leaf = leaf;
+            this.index = index;
+            this.to = to;
+            skipExhausted();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return leaf != null && leaf.keys[index] < to;
+        }
+
+        @Override
+        public Map.Entry<Long, Long> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("no more data!");
+            }
+            Map.Entry<Long, Long> entry =
+                new AbstractMap.SimpleImmutableEntry<>(leaf.keys[index],
+                    leaf.values[index]);
+            index++;
+            skipExhausted();
+            return entry;
+        }
+
+        /**
+         * helper method, moves to the next non-empty leaf once the current
+         * one is used up
+         */
+        private void skipExhausted() {
+            try {
+                while (leaf != null && index >= leaf.count) {
+                    leaf = leaf.next == NONE ? null : load(leaf.next);
+                    index = 0;
+                }
+                trimCache();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * A decoded page. A leaf keeps its keys and values in
+     * {@code [0, count)} and the page number of the next leaf; an internal
+     * node keeps {@code count} separator keys and {@code count + 1} child
+     * page numbers in {@code values}; a free page keeps the next free page.
+     * The arrays have one spare slot so a node can overflow by one before
+     * it is split.
+     */
+    private static final class Page {
+        private final long id;
+        private final long[] keys;
+        private final long[] values;
+        private byte type;
+        private int count;
+        private long next;
+        private boolean dirty;
+
+        /**
+         * Creates an empty page.
+         *
+         * @param id the page number
+         * @param type LEAF, INTERNAL or FREE
+         * @param capacity the most keys the page holds on disk
+         */
+        Page(long id, byte type, int capacity) {
+            this.id = id;
+            this.type = type;
+            keys = new long[capacity + 1];
+            values = new long[capacity + 2];
+        }
+    }
+
+    /**
+     * The result of splitting a node: the new right sibling and the key
+     * that separates it from the node that was split.
+     */
+    private static final class Split {
+        private final Page right;
+        private final long key;
+
+        /**
+         * Creates a split result.
+         *
+         * @param right the new right sibling
+         * @param key the separator to insert into the parent
+         */
+        Split(Page right, long key) {
+            this.right = right;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,332 @@
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Your implementation of a persistent, copy-on-write AVL tree.
+ *
+ * It keeps the same shape as AVL, but a node is never changed once it is
+ * reachable from the root. add and remove copy only the nodes on the path
+ * they change, rebalance the copies, and publish the new root with one
+ * volatile write; every untouched subtree is shared with the old version.
+ *
+ * Readers take no locks. get, contains, size, height and iterator read the
+ * root once and then work on that snapshot, which no writer will modify,
+ * so they always see one consistent version of the tree. Writers are
+ * serialized by a lock, so a write costs O(log n) new nodes and never
+ * waits for readers.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class PersistentAVL<T extends Comparable<? super T>>
+    implements Iterable<T> {
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile AVLNode<T> root;
+
+    /**
+     * Constructs a new, empty PersistentAVL.
+     */
+    public PersistentAVL() {
+    }
+
+    /**
+     * Adds the data to the tree, publishing a new version. If the data is
+     * already in the tree nothing is published.
+     *
+     * Must run in O(log n) for all cases.
+     *
+     * @throws java.lang.IllegalArgumentException if the data is null
+     * @param data the data to be added
+     */
+    public void add(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        writeLock.lock();
+        try {
+            AVLNode<T> current = root;
+            AVLNode<T> updated = insert(current, data);
+            if (updated != current) {
+                root = updated;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the data from the tree, publishing a new version. A node with
+     * two children is replaced by a copy holding its predecessor.
+     *
+     * Must run in O(log n) for all cases.
+     *
+     * @throws java.lang.IllegalArgumentException if the data is null
+     * @throws java.util.NoSuchElementException if the data is not found
+     * @param data the data to remove from the tree
+     * @return the data removed from the tree
+     */
+    public T remove(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        writeLock.lock();
+        try {
+            AVLNode<T> current = root;
+            AVLNode<T> node = find(current, data);
+            if (node == null) {
+                throw new NoSuchElementException("data is not found!");
+            }
+            root = delete(current, data);
+            return node.getData();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the data in the tree equal to the parameter, read from the
+     * latest published version without locking.
+     *
+     * Must run in O(log n) for all cases.
+     *
+     * @throws java.lang.IllegalArgumentException if the data is null
+     * @throws java.util.NoSuchElementException if the data is not found
+     * @param data the data to search for in the tree
+     * @return the data in the tree equal to the parameter
+     */
+    public T get(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        AVLNode<T> node = find(root, data);
+        if (node == null) {
+            throw new NoSuchElementException("data is not found!");
+        }
+        return node.getData();
+    }
+
+    /**
+     * Returns whether the latest published version contains the data,
+     * without locking.
+     *
+     * Must run in O(log n) for all cases.
+     *
+     * @throws java.lang.IllegalArgumentException if the data is null
+     * @param data the data to search for in the tree
+     * @return whether or not the data is in the tree
+     */
+    public boolean contains(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data cannot be null!");
+        }
+        return find(root, data) != null;
+    }
+
+    /**
+     * Returns an in-order iterator over the version of the tree published
+     * when this method is called. Later writes are not seen by it.
+     *
+     * @return an in-order iterator over a snapshot of the tree
+     */
+    @Override
+    public Iterator<T> iterator() {
+        Deque<AVLNode<T>> stack = new ArrayDeque<>();
+        for (AVLNode<T> t = root; t != null; t = t.getLeft()) {
+            stack.push(t);
+        }
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (stack.isEmpty()) {
+                    throw new NoSuchElementException("no more data!");
+                }
+                AVLNode<T> node = stack.pop();
+                for (AVLNode<T> t = node.getRight(); t != null;
+                     t = t.getLeft()) {
+                    stack.push(t);
+                }
+                return node.getData();
+            }
+        };
+    }
+
+    /**
+     * Returns the number of data in the latest published version.
+     *
+     * Runs in O(1) for all cases.
+     *
+     * @return the number of elements in the tree
+     */
+    public int size() {
+        return getSize(root);
+    }
+
+    /**
+     * Returns the height of the root of the latest published version.
+     *
+     * Runs in O(1) for all cases.
+     *
+     * @return the height of the root of the tree, -1 if the tree is empty
+     */
+    public int height() {
+        return getHeight(root);
+    }
+
+    /**
+     * Returns the root of the latest published version. The nodes must not
+     * be modified.
+     *
+     * @return the root of the tree
+     */
+    public AVLNode<T> getRoot() {
+        return root;
+    }
+
+    /**
+     * helper method, walks down a version of the tree
+     * @param t the root of the version
+     * @param data the data to search for
+     * @return the node holding the data, or null if there is none
+     */
+    private AVLNode<T> find(AVLNode<T> t, T data) {
+        while (t != null) {
+            int cmp = data.compareTo(t.getData());
+            if (cmp == 0) {
+                return t;
+            }
+            t = cmp < 0 ? t.getLeft() : t.getRight();
+        }
+        return null;
+    }
+
+    /**
+     * helper method of add, copies the path down to the new leaf
+     * @param t the root of the subtree
+     * @param data the data to add
+     * @return the root of the new subtree, or t itself if data is already
+     * in it
+     */
+    private AVLNode<T> insert(AVLNode<T> t, T data) {
+        if (t == null) {
+            return node(data, null, null);
+        }
+        int cmp = data.compareTo(t.getData());
+        if (cmp < 0) {
+            AVLNode<T> left = insert(t.getLeft(), data);
+            return left == t.getLeft() ? t
+                : balance(t.getData(), left, t.getRight());
+        } else if (cmp > 0) {
+            AVLNode<T> right = insert(t.getRight(), data);
+            return right == t.getRight() ? t
+                : balance(t.getData(), t.getLeft(), right);
+        }
+        return t;
+    }
+
+    /**
+     * helper method of remove, copies the path down to the removed node;
+     * the data must be in the subtree
+     * @param t the root of the subtree
+     * @param data the data to remove
+     * @return the root of the new subtree
+     */
+    private AVLNode<T> delete(AVLNode<T> t, T data) {
+        int cmp = data.compareTo(t.getData());
+        if (cmp < 0) {
+            return balance(t.getData(), delete(t.getLeft(), data),
+                t.getRight());
+        } else if (cmp > 0) {
+            return balance(t.getData(), t.getLeft(),
+                delete(t.getRight(), data));
+        } else if (t.getLeft() == null) {
+            return t.getRight();
+        } else if (t.getRight() == null) {
+            return t.getLeft();
+        }
+        AVLNode<T> pred = t.getLeft();
+        while (pred.getRight() != null) {
+            pred = pred.getRight();
+        }
+        return balance(pred.getData(), delete(t.getLeft(), pred.getData()),
+            t.getRight());
+    }
+
+    /**
+     * helper method, builds a new node over two subtrees whose heights
+     * differ by at most two, rotating with new nodes if needed
+     * @param data the data of the new node
+     * @param left the left subtree
+     * @param right the right subtree
+     * @return the root of the balanced subtree
+     */
+    private AVLNode<T> balance(T data, AVLNode<T> left, AVLNode<T> right) {
+        int bf = getHeight(left) - getHeight(right);
+        if (bf > 1) {
+            if (left.getBalanceFactor() >= 0) {
+                return node(left.getData(), left.getLeft(),
+                    node(data, left.getRight(), right));
+            }
+            AVLNode<T> lr = left.getRight();
+            return node(lr.getData(),
+                node(left.getData(), left.getLeft(), lr.getLeft()),
+                node(data, lr.getRight(), right));
+        } else if (bf < -1) {
+            if (right.getBalanceFactor() <= 0) {
+                return node(right.getData(),
+                    node(data, left, right.getLeft()), right.getRight());
+            }
+            AVLNode<T> rl = right.getLeft();
+            return node(rl.getData(),
+                node(data, left, rl.getLeft()),
+                node(right.getData(), rl.getRight(), right.getRight()));
+        }
+        return node(data, left, right);
+    }
+
+    /**
+     * helper method, creates a node with its height, balance factor and
+     * size set from its children
+     * @param data the data of the node
+     * @param left the left child
+     * @param right the right child
+     * @return the new node
+     */
+    private AVLNode<T> node(T data, AVLNode<T> left, AVLNode<T> right) {
+        AVLNode<T> t = new AVLNode<>(data);
+        t.setLeft(left);
+        t.setRight(right);
+        t.setHeight(Math.max(getHeight(left), getHeight(right)) + 1);
+        t.setBalanceFactor(getHeight(left) - getHeight(right));
+        t.setSize(getSize(left) + getSize(right) + 1);
+        return t;
+    }
+
+    /**
+     * helper method, gets the height of a subtree
+     * @param t the node to be parsed, may be null
+     * @return the height, -1 if t is null
+     */
+    private int getHeight(AVLNode<T> t) {
+        return t == null ? -1 : t.getHeight();
+    }
+
+    /**
+     * helper method, gets the size of a subtree
+     * @param t the node to be parsed, may be null
+     * @return the number of nodes in the subtree rooted at t
+     */
+    private int getSize(AVLNode<T> t) {
+        return t == null ? 0 : t.getSize();
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Compares ArrayDeque in its default mode, which wraps indices with a
+ * remainder, against power of two mode, which wraps them with a mask and
+ * regrows with System.arraycopy.
+ *
+ * Both modes run the same deque methods, so pass "default" or "pow2" to
+ * time one mode per JVM.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class ArrayDequeBench {
+
+    private static final int FILL = 1000000;
+    private static final int STEADY = 1000000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args "default" or "pow2" to run only that mode
+     * @throws Exception if a case fails
+     */
+    public static void main(String[] args) throws Exception {
+        for (boolean powerOfTwo : new boolean[] {false, true}) {
+            String mode = powerOfTwo ? "pow2" : "default";
+            if (args.length > 0 && !args[0].equals(mode)) {
+                continue;
+            }
+            String suffix = ", " + mode;
+            Bench.run("addLast from empty" + suffix, FILL, () -> {
+                ArrayDeque<Integer> deque = new ArrayDeque<>(powerOfTwo);
+                for (int i = 0; i < FILL; i++) {
+                    deque.addLast(i);
+                }
+                return deque.size();
+            });
+            Bench.run("addFirst from empty" + suffix, FILL, () -> {
+                ArrayDeque<Integer> deque = new ArrayDeque<>(powerOfTwo);
+                for (int i = 0; i < FILL; i++) {
+                    deque.addFirst(i);
+                }
+                return deque.size();
+            });
+            ArrayDeque<Integer> queue = new ArrayDeque<>(powerOfTwo);
+            for (int i = 0; i < 1000; i++) {
+                queue.addLast(i);
+            }
+            Bench.run("addLast+removeFirst at size 1000" + suffix, STEADY,
+                () -> {
+                    long sum = 0;
+                    for (int i = 0; i < STEADY; i++) {
+                        queue.addLast(i);
+                        sum += queue.removeFirst();
+                    }
+                    return sum;
+                });
+        }
+    }
+}
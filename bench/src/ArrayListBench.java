@@ -0,0 +1,68 @@
+/**
+ * Compares front insertion and removal in the shifting and circular layouts
+ * of ArrayList.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class ArrayListBench {
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused
+     * @throws Exception if a case fails
+     */
+    public static void main(String[] args) throws Exception {
+        for (int n : new int[] {1000, 10000, 50000}) {
+            Bench.run("addToFront+removeFromFront shifting n=" + n, 2L * n,
+                () -> frontOps(new ArrayList<>(), n));
+            Bench.run("addToFront+removeFromFront circular n=" + n, 2L * n,
+                () -> frontOps(new ArrayList<>(true), n));
+        }
+        int n = 100000;
+        ArrayList<Integer> shifting = new ArrayList<>();
+        ArrayList<Integer> circular = new ArrayList<>(true);
+        for (int i = 0; i < n; i++) {
+            shifting.addToBack(i);
+            circular.addToFront(i);
+        }
+        Bench.run("get shifting n=" + n, n, () -> sum(shifting, n));
+        Bench.run("get circular n=" + n, n, () -> sum(circular, n));
+    }
+
+    /**
+     * helper method, fills the list from the front and drains it again.
+     *
+     * @param list the empty list to use
+     * @param n the number of elements
+     * @return a checksum of the removed elements
+     */
+    private static long frontOps(ArrayList<Integer> list, int n) {
+        for (int i = 0; i < n; i++) {
+            list.addToFront(i);
+        }
+        long sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += list.removeFromFront();
+        }
+        return sum;
+    }
+
+    /**
+     * helper method, reads every index of the list.
+     *
+     * @param list the list to read
+     * @param n the size of the list
+     * @return the sum of the elements
+     */
+    private static long sum(ArrayList<Integer> list, int n) {
+        long sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += list.get(i);
+        }
+        return sum;
+    }
+}
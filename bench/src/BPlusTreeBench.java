@@ -0,0 +1,82 @@
+import java.util.Iterator;
+import java.util.Random;
+
+/**
+ * Compares point lookups and full in-order scans on a large sorted key set
+ * in AVL and in BPlusTree at a few orders.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class BPlusTreeBench {
+
+    private static final int LOOKUPS = 1000000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the number of keys, 1000000 by default
+     * @throws Exception if a case fails
+     */
+    public static void main(String[] args) throws Exception {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int[] keys = new Random(42).ints(LOOKUPS, 0, n).toArray();
+
+        avl(n, keys);
+        for (int order : new int[] {16, 64, 256}) {
+            BPlusTree<Integer> tree = new BPlusTree<>(order);
+            for (int i = 0; i < n; i++) {
+                tree.add(i);
+            }
+            Bench.run("BPlusTree(" + order + ") contains n=" + n, LOOKUPS,
+                () -> {
+                    long hits = 0;
+                    for (int key : keys) {
+                        hits += tree.contains(key) ? 1 : 0;
+                    }
+                    return hits;
+                });
+            Bench.run("BPlusTree(" + order + ") iterator scan n=" + n, n,
+                () -> scan(tree.iterator()));
+        }
+    }
+
+    /**
+     * helper method, times the AVL cases. The tree is garbage once this
+     * returns, so it does not crowd the B+ trees.
+     *
+     * @param n the number of keys
+     * @param keys the keys to look up
+     * @throws Exception if a case fails
+     */
+    private static void avl(int n, int[] keys) throws Exception {
+        AVL<Integer> avl = new AVL<>();
+        for (int i = 0; i < n; i++) {
+            avl.add(i);
+        }
+        Bench.run("AVL contains n=" + n, LOOKUPS, () -> {
+            long hits = 0;
+            for (int key : keys) {
+                hits += avl.contains(key) ? 1 : 0;
+            }
+            return hits;
+        });
+        Bench.run("AVL iterator scan n=" + n, n, () -> scan(avl.iterator()));
+    }
+
+    /**
+     * helper method, runs an iterator to the end.
+     *
+     * @param iterator the iterator
+     * @return the sum of the elements
+     */
+    private static long scan(Iterator<Integer> iterator) {
+        long sum = 0;
+        while (iterator.hasNext()) {
+            sum += iterator.next();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,68 @@
+import java.util.Random;
+
+/**
+ * Times BST add and contains for random and sorted insert orders. A sorted
+ * order builds a degenerate chain as deep as the tree is large, which the
+ * iterative operations handle without growing the call stack.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class BSTBench {
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused
+     * @throws Exception if a case fails
+     */
+    public static void main(String[] args) throws Exception {
+        int n = 200000;
+        int[] random = new Random(42).ints(n).toArray();
+        Bench.run("add, random order n=" + n, n, () -> {
+            BST<Integer> bst = new BST<>();
+            for (int data : random) {
+                bst.add(data);
+            }
+            return bst.size();
+        });
+        BST<Integer> randomTree = new BST<>();
+        for (int data : random) {
+            randomTree.add(data);
+        }
+        Bench.run("contains, random order n=" + n, n, () -> {
+            long hits = 0;
+            for (int data : random) {
+                hits += randomTree.contains(data) ? 1 : 0;
+            }
+            return hits;
+        });
+
+        int small = 10000;
+        Bench.run("add, sorted order n=" + small, small, () -> {
+            BST<Integer> bst = new BST<>();
+            for (int i = 0; i < small; i++) {
+                bst.add(i);
+            }
+            return bst.size();
+        });
+        for (int sorted : new int[] {small, 100000}) {
+            int ops = Math.max(sorted / 100, 100);
+            BST<Integer> chain = new BST<>();
+            for (int i = 0; i < sorted; i++) {
+                chain.add(i);
+            }
+            Bench.run("contains, sorted order n=" + sorted, ops, () -> {
+                long hits = 0;
+                for (int i = 0; i < ops; i++) {
+                    hits += chain.contains(sorted - 1 - i) ? 1 : 0;
+                }
+                return hits;
+            });
+            Bench.run("height, sorted order n=" + sorted, 1,
+                chain::height);
+        }
+    }
+}
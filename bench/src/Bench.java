@@ -0,0 +1,76 @@
+import java.util.Arrays;
+
+/**
+ * A small timing harness for the benchmarks in this directory.
+ *
+ * Every benchmark is a class with a main method that calls run() once per
+ * case. A case is a task that performs a known number of operations; it is
+ * run a few times to warm up the JIT, then timed over several rounds, and
+ * the median and best time per operation are printed. Whatever the task
+ * returns is folded into a volatile field so the work cannot be optimized
+ * away.
+ *
+ * Compile the benchmarks against the homework sources and run one with
+ *
+ *     javac -d out -sourcepath bench/src:HW1/src:HW2/src:HW3/src:HW4/src:\
+ *         HW7/src bench/src/*.java
+ *     java -cp out ArrayListBench
+ *
+ * These are plain timed loops, not JMH, so treat the numbers as rough
+ * comparisons between cases run in the same JVM on the same machine.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public final class Bench {
+
+    private static final int WARMUP = 5;
+    private static final int ROUNDS = 10;
+    private static volatile long sink;
+
+    /**
+     * One benchmark case.
+     */
+    public interface Task {
+
+        /**
+         * Performs the measured work once.
+         *
+         * @return any value computed by the work
+         * @throws Exception if the work fails
+         */
+        long run() throws Exception;
+    }
+
+    /**
+     * Not instantiable.
+     */
+    private Bench() {
+    }
+
+    /**
+     * Warms up and times a task, then prints its time per operation.
+     *
+     * @param name the name printed for this case
+     * @param ops the number of operations a single run of the task performs
+     * @param task the work to time
+     * @throws Exception if the task throws
+     */
+    public static void run(String name, long ops, Task task)
+        throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            sink += task.run();
+        }
+        long[] times = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink += task.run();
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        System.out.printf("%-44s %12.1f ns/op  (best %.1f)%n", name,
+            (double) times[ROUNDS / 2] / ops, (double) times[0] / ops);
+    }
+}
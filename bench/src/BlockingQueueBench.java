@@ -0,0 +1,145 @@
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares BoundedBlockingQueue with java.util.concurrent's
+ * ArrayBlockingQueue under 10,000 threads, half of them putting and half
+ * taking, with a capacity of 1024.
+ *
+ * The threads are virtual when the JVM supports them (JDK 21 or later) and
+ * platform threads otherwise. The virtual thread factory is looked up
+ * reflectively so the benchmarks still compile on JDK 17.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class BlockingQueueBench {
+
+    private static final int THREADS = 10000;
+    private static final int PER_THREAD = 100;
+    private static final int CAPACITY = 1024;
+
+    /**
+     * A queue under test.
+     */
+    private interface Queue {
+
+        /**
+         * Adds an element, waiting for room.
+         *
+         * @param data the element
+         * @throws InterruptedException if interrupted while waiting
+         */
+        void put(Integer data) throws InterruptedException;
+
+        /**
+         * Removes an element, waiting for one to arrive.
+         *
+         * @return the element
+         * @throws InterruptedException if interrupted while waiting
+         */
+        Integer take() throws InterruptedException;
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused
+     * @throws Exception if a case fails
+     */
+    public static void main(String[] args) throws Exception {
+        ThreadFactory factory = threadFactory();
+        long items = (long) THREADS / 2 * PER_THREAD;
+        Bench.run("ArrayBlockingQueue", items, () -> {
+            ArrayBlockingQueue<Integer> queue =
+                new ArrayBlockingQueue<>(CAPACITY);
+            return handoff(factory, new Queue() {
+                @Override
+                public void put(Integer data) throws InterruptedException {
+                    queue.put(data);
+                }
+
+                @Override
+                public Integer take() throws InterruptedException {
+                    return queue.take();
+                }
+            });
+        });
+        Bench.run("BoundedBlockingQueue(ArrayDeque)", items, () -> {
+            BoundedBlockingQueue<Integer> queue =
+                new BoundedBlockingQueue<>(CAPACITY);
+            return handoff(factory, new Queue() {
+                @Override
+                public void put(Integer data) throws InterruptedException {
+                    queue.put(data);
+                }
+
+                @Override
+                public Integer take() throws InterruptedException {
+                    return queue.take();
+                }
+            });
+        });
+    }
+
+    /**
+     * helper method, starts the producers and consumers and waits for all of
+     * them to finish.
+     *
+     * @param factory creates the threads
+     * @param queue the queue to hand the elements through
+     * @return the sum of the elements taken
+     * @throws InterruptedException if interrupted while joining
+     */
+    private static long handoff(ThreadFactory factory, Queue queue)
+        throws InterruptedException {
+        AtomicLong sum = new AtomicLong();
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            boolean producer = t % 2 == 0;
+            threads[t] = factory.newThread(() -> {
+                try {
+                    long local = 0;
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        if (producer) {
+                            queue.put(i);
+                        } else {
+                            local += queue.take();
+                        }
+                    }
+                    sum.addAndGet(local);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return sum.get();
+    }
+
+    /**
+     * helper method, returns a factory for virtual threads if the JVM has
+     * them and for platform threads otherwise.
+     *
+     * @return the thread factory
+     */
+    private static ThreadFactory threadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            ThreadFactory factory = (ThreadFactory) Class
+                .forName("java.lang.Thread$Builder").getMethod("factory")
+                .invoke(builder);
+            System.out.println("using virtual threads");
+            return factory;
+        } catch (ReflectiveOperationException e) {
+            System.out.println("using platform threads");
+            return Thread::new;
+        }
+    }
+}
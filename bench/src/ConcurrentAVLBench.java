@@ -0,0 +1,197 @@
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Measures mixed read/write throughput of ConcurrentAVL against an AVL
+ * behind one global lock, at 90/10 and 50/50 read/write mixes. Writes are
+ * an even split of adds and removes over a key range that starts half
+ * full, so the tree size stays roughly constant.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class ConcurrentAVLBench {
+
+    private static final int KEYS = 100000;
+    private static final int OPS = 200000;
+
+    /**
+     * The operations of a tree under test.
+     */
+    private interface Tree {
+
+        /**
+         * Looks up a key.
+         *
+         * @param key the key
+         * @return whether the key is in the tree
+         */
+        boolean contains(int key);
+
+        /**
+         * Adds a key.
+         *
+         * @param key the key
+         */
+        void add(int key);
+
+        /**
+         * Removes a key if it is in the tree.
+         *
+         * @param key the key
+         */
+        void remove(int key);
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the thread counts to run, 1, 2 and 4 by default
+     * @throws Exception if a case fails
+     */
+    public static void main(String[] args) throws Exception {
+        int[] threadCounts = {1, 2, 4};
+        if (args.length > 0) {
+            threadCounts = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                threadCounts[i] = Integer.parseInt(args[i]);
+            }
+        }
+        for (int readPercent : new int[] {90, 50}) {
+            for (int threads : threadCounts) {
+                String mix = " " + readPercent + "/" + (100 - readPercent)
+                    + " threads=" + threads;
+                Tree locked = locked();
+                Bench.run("global lock AVL" + mix, (long) threads * OPS,
+                    () -> mixed(locked, threads, readPercent));
+                Tree concurrent = concurrent();
+                Bench.run("ConcurrentAVL" + mix, (long) threads * OPS,
+                    () -> mixed(concurrent, threads, readPercent));
+            }
+        }
+    }
+
+    /**
+     * helper method, builds a half full AVL behind a single lock.
+     *
+     * @return the tree
+     */
+    private static Tree locked() {
+        AVL<Integer> avl = new AVL<>();
+        ReentrantLock lock = new ReentrantLock();
+        for (int i = 0; i < KEYS; i += 2) {
+            avl.add(i);
+        }
+        return new Tree() {
+            @Override
+            public boolean contains(int key) {
+                lock.lock();
+                try {
+                    return avl.contains(key);
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            @Override
+            public void add(int key) {
+                lock.lock();
+                try {
+                    avl.add(key);
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            @Override
+            public void remove(int key) {
+                lock.lock();
+                try {
+                    if (avl.contains(key)) {
+                        avl.remove(key);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        };
+    }
+
+    /**
+     * helper method, builds a half full ConcurrentAVL.
+     *
+     * @return the tree
+     */
+    private static Tree concurrent() {
+        ConcurrentAVL<Integer> avl = new ConcurrentAVL<>();
+        for (int i = 0; i < KEYS; i += 2) {
+            avl.add(i);
+        }
+        return new Tree() {
+            @Override
+            public boolean contains(int key) {
+                return avl.contains(key);
+            }
+
+            @Override
+            public void add(int key) {
+                avl.add(key);
+            }
+
+            @Override
+            public void remove(int key) {
+                // another thread may remove the key between the lookup
+                // and the remove
+                try {
+                    if (avl.contains(key)) {
+                        avl.remove(key);
+                    }
+                } catch (NoSuchElementException e) {
+                    return;
+                }
+            }
+        };
+    }
+
+    /**
+     * helper method, runs OPS random operations on each of several threads.
+     *
+     * @param tree the tree to use
+     * @param threads the number of threads
+     * @param readPercent the percentage of operations that are lookups
+     * @return the number of lookups that found their key
+     * @throws InterruptedException if interrupted while joining
+     */
+    private static long mixed(Tree tree, int threads, int readPercent)
+        throws InterruptedException {
+        long[] hits = new long[threads];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                int seed = id + 1;
+                for (int i = 0; i < OPS; i++) {
+                    seed = (seed * 1103515245 + 12345) & 0x7fffffff;
+                    int key = seed % KEYS;
+                    int roll = (seed >>> 8) % 100;
+                    if (roll < readPercent) {
+                        hits[id] += tree.contains(key) ? 1 : 0;
+                    } else if (roll % 2 == 0) {
+                        tree.add(key);
+                    } else {
+                        tree.remove(key);
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        long total = 0;
+        for (int t = 0; t < threads; t++) {
+            workers[t].join();
+            total += hits[t];
+        }
+        return total;
+    }
+}
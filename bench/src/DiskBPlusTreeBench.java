@@ -0,0 +1,101 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Compares reopening a DiskBPlusTree that already holds n keys with
+ * rebuilding an in-memory AVL of the same keys, and times durable adds and
+ * lookups against the file. All files go in a temporary directory that is
+ * deleted at the end.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class DiskBPlusTreeBench {
+
+    private static final int ADDS = 2000;
+    private static final int LOOKUPS = 1000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the number of keys, 1000000 by default
+     * @throws Exception if a case fails
+     */
+    public static void main(String[] args) throws Exception {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        long[] lookups = new Random(42).longs(LOOKUPS, 0, n).toArray();
+        Path dir = Files.createTempDirectory("bptree-bench");
+        try {
+            Path file = dir.resolve("tree.db");
+            long start = System.nanoTime();
+            try (DiskBPlusTree tree = new DiskBPlusTree(file)) {
+                for (long key = 0; key < n; key++) {
+                    tree.add(key, key);
+                }
+            }
+            System.out.printf("built %d keys with one add each in %.1f s%n",
+                n, (System.nanoTime() - start) / 1e9);
+
+            Bench.run("rebuild AVL of n=" + n + " keys", 1, () -> {
+                AVL<Long> avl = new AVL<>();
+                for (long key = 0; key < n; key++) {
+                    avl.add(key);
+                }
+                return avl.size();
+            });
+            Bench.run("open DiskBPlusTree n=" + n + ", " + LOOKUPS
+                + " gets, close", 1, () -> {
+                    long sum = 0;
+                    try (DiskBPlusTree tree = new DiskBPlusTree(file)) {
+                        for (long key : lookups) {
+                            sum += tree.get(key);
+                        }
+                    }
+                    return sum;
+                });
+            try (DiskBPlusTree tree = new DiskBPlusTree(file)) {
+                Bench.run("get, open tree n=" + n, LOOKUPS, () -> {
+                    long sum = 0;
+                    for (long key : lookups) {
+                        sum += tree.get(key);
+                    }
+                    return sum;
+                });
+            }
+
+            Path scratch = dir.resolve("adds.db");
+            Bench.run("add with a forced log, fresh tree", ADDS, () -> {
+                try (DiskBPlusTree tree = new DiskBPlusTree(scratch)) {
+                    for (long key : new Random(7).longs(ADDS).toArray()) {
+                        tree.add(key, key);
+                    }
+                }
+                Files.delete(scratch);
+                return ADDS;
+            });
+        } finally {
+            delete(dir);
+        }
+    }
+
+    /**
+     * helper method, deletes a directory and everything in it.
+     *
+     * @param dir the directory
+     * @throws IOException if a file cannot be deleted
+     */
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths
+                    .sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
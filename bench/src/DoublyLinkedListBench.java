@@ -0,0 +1,93 @@
+import java.util.Random;
+
+/**
+ * Times index lookups on a one million node DoublyLinkedList against a walk
+ * that always starts from the head, which is what get() did before it
+ * could start from the tail or the cached finger.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class DoublyLinkedListBench {
+
+    private static final int SIZE = 1000000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused
+     * @throws Exception if a case fails
+     */
+    public static void main(String[] args) throws Exception {
+        DoublyLinkedList<Integer> list = new DoublyLinkedList<>();
+        for (int i = 0; i < SIZE; i++) {
+            list.addToBack(i);
+        }
+
+        int scan = 20000;
+        Bench.run("sequential get, head walk", scan, () -> {
+            long sum = 0;
+            for (int i = 0; i < scan; i++) {
+                sum += headWalk(list, i);
+            }
+            return sum;
+        });
+        Bench.run("sequential get, finger", scan, () -> {
+            long sum = 0;
+            for (int i = 0; i < scan; i++) {
+                sum += list.get(i);
+            }
+            return sum;
+        });
+
+        int tail = 200;
+        Bench.run("get near the tail, head walk", tail, () -> {
+            long sum = 0;
+            for (int i = 0; i < tail; i++) {
+                sum += headWalk(list, SIZE - 1 - i * 97);
+            }
+            return sum;
+        });
+        Bench.run("get near the tail, closest end", tail, () -> {
+            long sum = 0;
+            for (int i = 0; i < tail; i++) {
+                sum += list.get(SIZE - 1 - i * 97);
+            }
+            return sum;
+        });
+
+        int random = 200;
+        int[] indices = new Random(42).ints(random, 0, SIZE).toArray();
+        Bench.run("random get, head walk", random, () -> {
+            long sum = 0;
+            for (int index : indices) {
+                sum += headWalk(list, index);
+            }
+            return sum;
+        });
+        Bench.run("random get, closest end", random, () -> {
+            long sum = 0;
+            for (int index : indices) {
+                sum += list.get(index);
+            }
+            return sum;
+        });
+    }
+
+    /**
+     * helper method, finds an element by walking forward from the head.
+     *
+     * @param list the list to search
+     * @param index the index to find
+     * @return the element at index
+     */
+    private static int headWalk(DoublyLinkedList<Integer> list, int index) {
+        LinkedListNode<Integer> curr = list.getHead();
+        for (int i = 0; i < index; i++) {
+            curr = curr.getNext();
+        }
+        return curr.getData();
+    }
+}
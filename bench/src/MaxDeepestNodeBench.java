@@ -0,0 +1,42 @@
+/**
+ * Times AVL.maxDeepestNode on trees of 10^3 up to 10^7 nodes built by
+ * adding keys in sorted order, which leaves many subtrees with children of
+ * equal height.
+ *
+ * The largest tree needs a heap of about 1.5 GB; pass the largest power of
+ * ten to try as the first argument to stop earlier.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class MaxDeepestNodeBench {
+
+    private static final int CALLS = 100000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the largest power of ten to measure, 7 by default
+     * @throws Exception if a case fails
+     */
+    public static void main(String[] args) throws Exception {
+        int maxExponent = args.length > 0 ? Integer.parseInt(args[0]) : 7;
+        AVL<Integer> avl = new AVL<>();
+        int size = 0;
+        for (int exponent = 3; exponent <= maxExponent; exponent++) {
+            int n = (int) Math.pow(10, exponent);
+            for (; size < n; size++) {
+                avl.add(size);
+            }
+            Bench.run("maxDeepestNode n=10^" + exponent, CALLS, () -> {
+                long sum = 0;
+                for (int i = 0; i < CALLS; i++) {
+                    sum += avl.maxDeepestNode();
+                }
+                return sum;
+            });
+        }
+    }
+}
@@ -0,0 +1,134 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * Compares read throughput of PersistentAVL against an AVL guarded by a
+ * ReentrantReadWriteLock while one writer keeps adding and removing keys.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class PersistentAVLBench {
+
+    private static final int KEYS = 100000;
+    private static final int READERS = 4;
+    private static final int READS = 250000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused
+     * @throws Exception if a case fails
+     */
+    public static void main(String[] args) throws Exception {
+        AVL<Integer> avl = new AVL<>();
+        PersistentAVL<Integer> persistent = new PersistentAVL<>();
+        for (int i = 0; i < KEYS; i += 2) {
+            avl.add(i);
+            persistent.add(i);
+        }
+        ReadWriteLock lock = new ReentrantReadWriteLock();
+        long reads = (long) READERS * READS;
+        IntPredicate lockedRead = key -> {
+            lock.readLock().lock();
+            try {
+                return avl.contains(key);
+            } finally {
+                lock.readLock().unlock();
+            }
+        };
+        Bench.run("read-write locked AVL, no writer", reads,
+            () -> mixed(lockedRead, null));
+        Bench.run("PersistentAVL, no writer", reads,
+            () -> mixed(persistent::contains, null));
+        Bench.run("read-write locked AVL, 1 writer", reads,
+            () -> mixed(lockedRead, key -> {
+                lock.writeLock().lock();
+                try {
+                    if (key % 2 == 0) {
+                        avl.add(key + 1);
+                    } else {
+                        avl.remove(key);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                return true;
+            }));
+        Bench.run("PersistentAVL, 1 writer", reads,
+            () -> mixed(persistent::contains, key -> {
+                if (key % 2 == 0) {
+                    persistent.add(key + 1);
+                } else {
+                    persistent.remove(key);
+                }
+                return true;
+            }));
+    }
+
+    /**
+     * helper method, runs READERS reader threads to completion, while one
+     * writer thread alternately adds and removes odd keys if write is not
+     * null.
+     *
+     * @param read looks up a key
+     * @param write adds the odd key after an even key and removes an odd
+     * key, or null for no writer
+     * @return the number of hits seen by the readers
+     * @throws InterruptedException if interrupted while joining
+     */
+    private static long mixed(IntPredicate read, IntPredicate write)
+        throws InterruptedException {
+        AtomicLong hits = new AtomicLong();
+        Thread[] readers = new Thread[READERS];
+        for (int t = 0; t < READERS; t++) {
+            int seed = t;
+            readers[t] = new Thread(() -> {
+                long local = 0;
+                int key = seed;
+                for (int i = 0; i < READS; i++) {
+                    key = (key * 1103515245 + 12345) & 0x7fffffff;
+                    local += read.test(key % KEYS) ? 1 : 0;
+                }
+                hits.addAndGet(local);
+            });
+            readers[t].start();
+        }
+        if (write != null) {
+            Thread writer = new Thread(() -> {
+                int i = 0;
+                while (anyAlive(readers)) {
+                    int key = (i * 7919) % KEYS & ~1;
+                    write.test(key);
+                    write.test(key + 1);
+                    i++;
+                }
+            });
+            writer.start();
+            writer.join();
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        return hits.get();
+    }
+
+    /**
+     * helper method, checks whether any thread is still running.
+     *
+     * @param threads the threads to check
+     * @return true if one of them is alive
+     */
+    private static boolean anyAlive(Thread[] threads) {
+        for (Thread thread : threads) {
+            if (thread.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,118 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures handoff throughput from one producer thread to one consumer
+ * thread through SpscRingBuffer, and through an ArrayDeque guarded by
+ * synchronized with the same capacity. Either side yields when the queue
+ * is full or empty.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class SpscRingBufferBench {
+
+    private static final int ITEMS = 1000000;
+    private static final int CAPACITY = 1024;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused
+     * @throws Exception if a case fails
+     */
+    public static void main(String[] args) throws Exception {
+        Bench.run("locked ArrayDeque handoff", ITEMS,
+            SpscRingBufferBench::locked);
+        Bench.run("SpscRingBuffer offer/poll handoff", ITEMS,
+            () -> ring(false));
+        Bench.run("SpscRingBuffer offer/drainTo handoff", ITEMS,
+            () -> ring(true));
+    }
+
+    /**
+     * helper method, hands ITEMS elements through a synchronized deque.
+     *
+     * @return the sum of the elements received
+     * @throws InterruptedException if interrupted while joining
+     */
+    private static long locked() throws InterruptedException {
+        ArrayDeque<Integer> deque = new ArrayDeque<>(true);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < ITEMS; i++) {
+                while (true) {
+                    synchronized (deque) {
+                        if (deque.size() < CAPACITY) {
+                            deque.addLast(i);
+                            break;
+                        }
+                    }
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+        long sum = 0;
+        for (int received = 0; received < ITEMS;) {
+            Integer data = null;
+            synchronized (deque) {
+                if (deque.size() > 0) {
+                    data = deque.removeFirst();
+                }
+            }
+            if (data == null) {
+                Thread.yield();
+            } else {
+                sum += data;
+                received++;
+            }
+        }
+        producer.join();
+        return sum;
+    }
+
+    /**
+     * helper method, hands ITEMS elements through a ring buffer.
+     *
+     * @param batch whether the consumer drains in batches
+     * @return the sum of the elements received
+     * @throws InterruptedException if interrupted while joining
+     */
+    private static long ring(boolean batch) throws InterruptedException {
+        SpscRingBuffer<Integer> ring = new SpscRingBuffer<>(CAPACITY);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < ITEMS; i++) {
+                while (!ring.offer(i)) {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+        long sum = 0;
+        List<Integer> drained = new ArrayList<>(CAPACITY);
+        for (int received = 0; received < ITEMS;) {
+            if (batch) {
+                drained.clear();
+                if (ring.drainTo(drained, CAPACITY) == 0) {
+                    Thread.yield();
+                }
+                for (Integer data : drained) {
+                    sum += data;
+                }
+                received += drained.size();
+            } else {
+                Integer data = ring.poll();
+                if (data == null) {
+                    Thread.yield();
+                } else {
+                    sum += data;
+                    received++;
+                }
+            }
+        }
+        producer.join();
+        return sum;
+    }
+}
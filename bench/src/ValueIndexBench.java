@@ -0,0 +1,89 @@
+/**
+ * Times contains, lastOccurrence and addToBack on a DoublyLinkedList with
+ * and without the value index, to show when the index pays for itself.
+ *
+ * Both modes run the same list methods, so whichever runs second sees code
+ * the JIT compiled for the first. Pass "plain" or "indexed" to time one
+ * mode per JVM.
+ *
+ * @author Zheyuan Xu
+ * @userid zxu322
+ * @GTID 903132413
+ * @version 1.0
+ */
+public class ValueIndexBench {
+
+    private static final int SIZE = 100000;
+    private static final int LOOKUPS = 200;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args "plain" or "indexed" to run only that mode
+     * @throws Exception if a case fails
+     */
+    public static void main(String[] args) throws Exception {
+        for (boolean index : new boolean[] {false, true}) {
+            String mode = index ? "indexed" : "plain";
+            if (args.length > 0 && !args[0].equals(mode)) {
+                continue;
+            }
+            DoublyLinkedList<Integer> list = filled(index);
+            String suffix = ", " + mode;
+            Bench.run("contains, present" + suffix, LOOKUPS, () -> {
+                long hits = 0;
+                for (int i = 0; i < LOOKUPS; i++) {
+                    hits += list.contains(i * 211) ? 1 : 0;
+                }
+                return hits;
+            });
+            Bench.run("contains, absent" + suffix, LOOKUPS, () -> {
+                long hits = 0;
+                for (int i = 0; i < LOOKUPS; i++) {
+                    hits += list.contains(-i) ? 1 : 0;
+                }
+                return hits;
+            });
+            Bench.run("lastOccurrence, present" + suffix, LOOKUPS, () -> {
+                long sum = 0;
+                for (int i = 0; i < LOOKUPS; i++) {
+                    sum += list.lastOccurrence(i * 211);
+                }
+                return sum;
+            });
+            Bench.run("lastOccurrence, absent" + suffix, LOOKUPS, () -> {
+                long sum = 0;
+                for (int i = 0; i < LOOKUPS; i++) {
+                    sum += list.lastOccurrence(-i);
+                }
+                return sum;
+            });
+            Bench.run("addToBack+removeFromFront" + suffix, SIZE, () -> {
+                long sum = 0;
+                for (int i = 0; i < SIZE; i++) {
+                    list.addToBack(i);
+                    sum += list.removeFromFront();
+                }
+                return sum;
+            });
+        }
+    }
+
+    /**
+     * helper method, builds a list of SIZE values in which every value
+     * appears twice.
+     *
+     * @param index whether to turn on the value index
+     * @return the list
+     */
+    private static DoublyLinkedList<Integer> filled(boolean index) {
+        DoublyLinkedList<Integer> list = new DoublyLinkedList<>();
+        if (index) {
+            list.enableValueIndex();
+        }
+        for (int i = 0; i < SIZE; i++) {
+            list.addToBack(i % (SIZE / 2));
+        }
+        return list;
+    }
+}